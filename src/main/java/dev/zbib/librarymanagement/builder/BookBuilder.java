@@ -3,12 +3,25 @@ package dev.zbib.librarymanagement.builder;
 
 import dev.zbib.librarymanagement.dto.BookCreationRequest;
 import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.dto.BookSnapshot;
 import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.pagination.Projection;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BookBuilder {
 
+    // Same mapping as buildBookResponse, for list queries that select straight into the DTO
+    public static final Projection<Book, BookResponse> BOOK_RESPONSE = Projection.of(Book.class,
+            BookResponse.class,
+            "id",
+            "title",
+            "author",
+            "publicationYear",
+            "ISBN",
+            "version",
+            "updatedAt");
+
     public static Book buildBook(BookCreationRequest request) {
         return Book.builder()
                 .title(request.getTitle())
@@ -25,6 +38,24 @@ public class BookBuilder {
                 .author(book.getAuthor())
                 .publicationYear(book.getPublicationYear())
                 .isbn(book.getISBN())
+                .version(book.getVersion())
+                .lastModified(book.getUpdatedAt())
                 .build();
     }
+
+    public static BookSnapshot buildBookSnapshot(Book book) {
+        return new BookSnapshot(book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPublicationYear(),
+                book.getISBN());
+    }
+
+    public static BookSnapshot buildBookSnapshot(BookResponse book) {
+        return new BookSnapshot(book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPublicationYear(),
+                book.getIsbn());
+    }
 }
\ No newline at end of file
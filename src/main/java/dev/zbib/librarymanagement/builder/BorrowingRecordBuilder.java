@@ -6,11 +6,28 @@ import dev.zbib.librarymanagement.entity.Book;
 import dev.zbib.librarymanagement.entity.BorrowingRecord;
 import dev.zbib.librarymanagement.entity.BorrowingStatus;
 import dev.zbib.librarymanagement.entity.Patron;
+import dev.zbib.librarymanagement.pagination.Projection;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BorrowingRecordBuilder {
 
+    public static final Projection<BorrowingRecord, BorrowingRecordResponse> BORROWING_RECORD_RESPONSE = Projection.of(BorrowingRecord.class,
+            BorrowingRecordResponse.class,
+            "id",
+            "book.id",
+            "book.title",
+            "book.ISBN",
+            "patron.id",
+            "patron.firstName",
+            "patron.lastName",
+            "patron.email",
+            "borrowDate",
+            "dueDate",
+            "returnDate",
+            "status",
+            "notes");
+
     public static BorrowingRecord buildBorrowingRecord(BookBorrowingRequest requestDTO, Book book, Patron patron) {
         return BorrowingRecord.builder()
                 .book(book)
@@ -21,4 +38,23 @@ public class BorrowingRecordBuilder {
                 .borrowDate(requestDTO.getBorrowDate())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static BorrowingRecordResponse buildBorrowingRecordResponse(BorrowingRecord record) {
+        Book book = record.getBook();
+        Patron patron = record.getPatron();
+        return BorrowingRecordResponse.builder()
+                .id(record.getId())
+                .bookId(book.getId())
+                .bookTitle(book.getTitle())
+                .bookISBN(book.getISBN())
+                .patronId(patron.getId())
+                .patronName(patron.getFirstName() + " " + patron.getLastName())
+                .patronEmail(patron.getEmail())
+                .borrowDate(record.getBorrowDate())
+                .dueDate(record.getDueDate())
+                .returnDate(record.getReturnDate())
+                .status(record.getStatus())
+                .notes(record.getNotes())
+                .build();
+    }
+}
@@ -3,11 +3,25 @@ package dev.zbib.librarymanagement.builder;
 import dev.zbib.librarymanagement.dto.PatronCreationRequest;
 import dev.zbib.librarymanagement.dto.PatronResponse;
 import dev.zbib.librarymanagement.entity.Patron;
+import dev.zbib.librarymanagement.pagination.Projection;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PatronBuilder {
 
+    // Same mapping as buildPatronResponse, for list queries that select straight into the DTO
+    public static final Projection<Patron, PatronResponse> PATRON_RESPONSE = Projection.of(Patron.class,
+            PatronResponse.class,
+            "id",
+            "firstName",
+            "lastName",
+            "email",
+            "phoneNumber",
+            "address",
+            "membershipExpiryDate",
+            "version",
+            "updatedAt");
+
     public static Patron buildPatron(PatronCreationRequest request) {
         return Patron.builder()
                 .firstName(request.getFirstName())
@@ -28,6 +42,8 @@ public class PatronBuilder {
                 .phoneNumber(patron.getPhoneNumber())
                 .address(patron.getAddress())
                 .membershipExpiryDate(patron.getMembershipExpiryDate())
+                .version(patron.getVersion())
+                .lastModified(patron.getUpdatedAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package dev.zbib.librarymanagement.bulk;
+
+import dev.zbib.librarymanagement.dto.ImportError;
+
+import java.util.List;
+
+/**
+ * Stores one chunk of validated rows, typically in its own transaction, and returns the rows
+ * the database refused, such as duplicates of existing keys.
+ */
+@FunctionalInterface
+public interface ChunkWriter<T> {
+
+    List<ImportError> write(List<ImportRow<T>> chunk);
+}
@@ -0,0 +1,57 @@
+package dev.zbib.librarymanagement.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 records read one at a time, so quoted fields may contain separators and line breaks.
+ */
+final class CsvReader {
+
+    private final Reader reader;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Null at the end of the input. A quote still open there takes the rest of the input with it,
+    // so that record is malformed rather than read as a shorter field.
+    List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new MalformedRowException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
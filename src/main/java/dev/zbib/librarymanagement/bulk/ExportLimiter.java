@@ -0,0 +1,100 @@
+package dev.zbib.librarymanagement.bulk;
+
+import dev.zbib.librarymanagement.exception.ExportException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the exports running at once below the connection pool, since each one holds a connection
+ * for as long as its download lasts. An export over the cap is refused before anything is written,
+ * and an admitted one gets the long export timeout instead of the default async request timeout.
+ */
+@Component
+public class ExportLimiter {
+
+    private final Semaphore permits;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+
+    public ExportLimiter(MeterRegistry meterRegistry,
+                         @Value("${app.export.max-concurrent:3}") int maxConcurrent,
+                         @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                         @Value("${app.export.timeout:30m}") Duration timeout,
+                         @Value("${app.export.retry-after:30s}") Duration retryAfter) {
+        if (maxConcurrent < 1 || maxConcurrent >= poolSize) {
+            throw new IllegalStateException("app.export.max-concurrent must be between 1 and the connection pool size ("
+                    + poolSize + ") minus one, was " + maxConcurrent);
+        }
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Admits the export on the request thread, or throws if the cap is reached. */
+    public StreamingResponseBody limit(StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            meterRegistry.counter("export.admission", "outcome", "rejected").increment();
+            throw new ExportException.TooManyExports(retryAfter);
+        }
+        meterRegistry.counter("export.admission", "outcome", "admitted").increment();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            extendTimeout();
+            // Also released when the async request ends without running the body, e.g. on disconnect
+            WebAsyncUtils.getAsyncManager(currentRequest().getRequest())
+                    .registerCallableInterceptor(release, new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                            release.run();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        return output -> {
+            try {
+                body.writeTo(output);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    /** Gives the current request's streamed response the export timeout. */
+    public void extendTimeout() {
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(currentRequest().getRequest())
+                .getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(timeout.toMillis());
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        return (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+    }
+}
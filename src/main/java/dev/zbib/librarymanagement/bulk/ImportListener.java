@@ -0,0 +1,27 @@
+package dev.zbib.librarymanagement.bulk;
+
+import dev.zbib.librarymanagement.dto.ImportError;
+import dev.zbib.librarymanagement.dto.ImportReport;
+
+import java.io.IOException;
+
+/**
+ * Follows an import while it runs. An exception aborts the import; chunks already written stay
+ * written.
+ */
+public interface ImportListener {
+
+    ImportListener NONE = new ImportListener() {
+    };
+
+    /** Called after each chunk is written, with the totals so far. */
+    default void progress(long rows, long imported, long rejected) throws IOException {
+    }
+
+    /** Called for each rejected row that makes it into the report. */
+    default void rejected(ImportError error) throws IOException {
+    }
+
+    default void finished(ImportReport report) throws IOException {
+    }
+}
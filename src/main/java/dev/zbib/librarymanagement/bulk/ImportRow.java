@@ -0,0 +1,7 @@
+package dev.zbib.librarymanagement.bulk;
+
+/**
+ * A validated import row and its 1-based position among the data rows of the input.
+ */
+public record ImportRow<T>(long number, T value) {
+}
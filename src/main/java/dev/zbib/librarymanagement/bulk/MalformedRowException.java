@@ -0,0 +1,13 @@
+package dev.zbib.librarymanagement.bulk;
+
+import java.io.IOException;
+
+/**
+ * A row that cannot be parsed. It is reported as rejected and reading goes on with the next row.
+ */
+final class MalformedRowException extends IOException {
+
+    MalformedRowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,126 @@
+package dev.zbib.librarymanagement.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import dev.zbib.librarymanagement.pagination.Projection;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes every row matching a filter as it is read. Inside the transaction the Postgres driver
+ * reads through a server-side cursor, {@code fetchSize} rows at a time, and the rows are selected
+ * straight into DTOs, so neither the driver nor the persistence context holds more than one batch
+ * whatever the size of the table.
+ */
+@Component
+public class RowExporter {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public RowExporter(EntityManager entityManager,
+                       ObjectMapper objectMapper,
+                       @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public <T, R> void export(Projection<T, R> projection,
+                              Specification<T> filter,
+                              RowFormat format,
+                              OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        // Unsorted: an ORDER BY over the whole table would have to be sorted before the first row is sent
+        try (Stream<R> rows = entityManager.createQuery(
+                        projection.query(entityManager.getCriteriaBuilder(), filter, Sort.unsorted()))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            switch (format) {
+                case NDJSON -> writeNdjson(rows, writer);
+                case CSV -> writeCsv(projection.type(), rows, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private <R> void writeNdjson(Stream<R> rows, Writer writer) {
+        rows.forEach(row -> {
+            try {
+                rowWriter.writeValue(writer, row);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Values are rendered by Jackson, so dates and enums read the same as in the JSON endpoints
+    private <R> void writeCsv(Class<R> type, Stream<R> rows, Writer writer) throws IOException {
+        List<String> columns = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties()
+                .stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+        writeCsvLine(columns.iterator(), writer);
+        rows.forEach(row -> {
+            JsonNode node = objectMapper.valueToTree(row);
+            try {
+                writeCsvLine(columns.stream()
+                        .map(column -> csvValue(node.path(column)))
+                        .iterator(), writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String csvValue(JsonNode value) {
+        return value.isValueNode() && !value.isNull() ? value.asText() : "";
+    }
+
+    private static void writeCsvLine(Iterator<String> values, Writer writer) throws IOException {
+        while (values.hasNext()) {
+            String value = values.next();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+            if (values.hasNext()) {
+                writer.write(',');
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,20 @@
+package dev.zbib.librarymanagement.bulk;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Wire format of bulk exports and imports, one row per line.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RowFormat {
+    /** One JSON object per line, fields as in the list endpoints. */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    /** RFC 4180 CSV with a header row. */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+}
@@ -0,0 +1,271 @@
+package dev.zbib.librarymanagement.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.zbib.librarymanagement.dto.ImportError;
+import dev.zbib.librarymanagement.dto.ImportEvent;
+import dev.zbib.librarymanagement.dto.ImportReport;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reads NDJSON or CSV rows one at a time, binds each to a request type and validates it with the
+ * constraints of the single-item endpoints. Valid rows go to a {@link ChunkWriter} {@code chunkSize}
+ * at a time, so only one chunk is held in memory; invalid rows are reported by number and skipped.
+ * An {@link ImportListener} sees the totals after every chunk and each rejection as it happens.
+ */
+@Slf4j
+@Component
+public class RowImporter {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public RowImporter(ObjectMapper objectMapper,
+                       Validator validator,
+                       @Value("${app.import.chunk-size:5000}") int chunkSize,
+                       @Value("${app.import.max-errors:1000}") int maxErrors) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public <T> ImportReport importRows(InputStream input,
+                                       RowFormat format,
+                                       Class<T> type,
+                                       ChunkWriter<T> writer) throws IOException {
+        return importRows(input, format, type, writer, ImportListener.NONE);
+    }
+
+    public <T> ImportReport importRows(InputStream input,
+                                       RowFormat format,
+                                       Class<T> type,
+                                       ChunkWriter<T> writer,
+                                       ImportListener listener) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        skipByteOrderMark(reader);
+        RowSource source = format == RowFormat.CSV ? csv(reader) : ndjson(reader);
+        Tally tally = new Tally(maxErrors, listener);
+        List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            JsonNode node;
+            try {
+                node = source.next();
+            } catch (MalformedRowException e) {
+                tally.reject(new ImportError(++tally.rows, e.getMessage()));
+                continue;
+            }
+            if (node == null) {
+                break;
+            }
+            long number = ++tally.rows;
+            T value;
+            try {
+                value = objectMapper.treeToValue(node, type);
+            } catch (JsonProcessingException e) {
+                tally.reject(new ImportError(number, bindingError(e)));
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                tally.reject(new ImportError(number, describe(violations)));
+                continue;
+            }
+            chunk.add(new ImportRow<>(number, value));
+            if (chunk.size() == chunkSize) {
+                write(chunk, writer, tally);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, writer, tally);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Imported {} of {} {} rows in {} ms", tally.imported, tally.rows, type.getSimpleName(), millis);
+        ImportReport report = ImportReport.builder()
+                .rows(tally.rows)
+                .imported(tally.imported)
+                .rejected(tally.rejected)
+                .errors(tally.errors)
+                .errorsTruncated(tally.truncated)
+                .durationMillis(millis)
+                .build();
+        listener.finished(report);
+        return report;
+    }
+
+    /**
+     * Writes each event as a line of NDJSON and flushes it, so a client sees the import advance.
+     */
+    public ImportListener ndjsonEvents(OutputStream output) {
+        ObjectWriter events = objectMapper.writerFor(ImportEvent.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return new ImportListener() {
+
+            @Override
+            public void progress(long rows, long imported, long rejected) throws IOException {
+                write(ImportEvent.builder()
+                        .type(ImportEvent.Type.PROGRESS)
+                        .rows(rows)
+                        .imported(imported)
+                        .rejected(rejected)
+                        .build());
+            }
+
+            @Override
+            public void rejected(ImportError error) throws IOException {
+                write(ImportEvent.builder()
+                        .type(ImportEvent.Type.ERROR)
+                        .error(error)
+                        .build());
+            }
+
+            @Override
+            public void finished(ImportReport report) throws IOException {
+                write(ImportEvent.builder()
+                        .type(ImportEvent.Type.DONE)
+                        .report(report)
+                        .build());
+            }
+
+            private void write(ImportEvent event) throws IOException {
+                events.writeValue(output, event);
+                output.write('\n');
+                output.flush();
+            }
+        };
+    }
+
+    private static <T> void write(List<ImportRow<T>> chunk, ChunkWriter<T> writer, Tally tally) throws IOException {
+        List<ImportError> refused = writer.write(chunk);
+        tally.imported += chunk.size() - refused.size();
+        for (ImportError error : refused) {
+            tally.reject(error);
+        }
+        chunk.clear();
+        tally.listener.progress(tally.rows, tally.imported, tally.rejected);
+    }
+
+    private RowSource ndjson(BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new MalformedRowException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    // The header row names the properties; blank lines are skipped
+    private RowSource csv(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        return () -> {
+            List<String> fields;
+            do {
+                fields = csv.next();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            if (fields.size() != header.size()) {
+                throw new MalformedRowException("Expected " + header.size() + " fields, found " + fields.size());
+            }
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < fields.size(); i++) {
+                node.put(header.get(i).trim(), fields.get(i));
+            }
+            return node;
+        };
+    }
+
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private static String bindingError(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapping
+                && !mapping.getPath().isEmpty()
+                && mapping.getPath().get(0).getFieldName() != null) {
+            return mapping.getPath().get(0).getFieldName() + ": invalid value";
+        }
+        return "Malformed row: " + e.getOriginalMessage();
+    }
+
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing((ConstraintViolation<T> violation) -> violation.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private interface RowSource {
+
+        // Null at the end of the input
+        JsonNode next() throws IOException;
+    }
+
+    private static final class Tally {
+
+        private final int maxErrors;
+        private final ImportListener listener;
+        private final List<ImportError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+        private boolean truncated;
+
+        Tally(int maxErrors, ImportListener listener) {
+            this.maxErrors = maxErrors;
+            this.listener = listener;
+        }
+
+        void reject(ImportError error) throws IOException {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+                listener.rejected(error);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Books-list pages with refresh-ahead: a page older than the soft TTL is still served while a
+ * bounded background executor re-queries it, and only a page older than the hard TTL is reloaded
+ * on the caller's thread. Callers pass a coalesced loader, so concurrent reloads of one page share
+ * a single query and its deadline. Every invalidation bumps a generation counter so that a load
+ * racing with a write never re-caches the page the write made stale.
+ */
+@Slf4j
+@Component
+public class BooksListCache {
+
+    public static final String NAME = "books-list";
+
+    private final Cache cache;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final Set<PageQueryKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public BooksListCache(CacheManager cacheManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.cache.refresh-ahead.soft-ttl:1m}") Duration softTtl,
+                          @Value("${app.cache.refresh-ahead.hard-ttl:5m}") Duration hardTtl,
+                          @Value("${app.cache.refresh-ahead.threads:2}") int threads,
+                          @Value("${app.cache.refresh-ahead.queue-capacity:64}") int queueCapacity) {
+        this(cacheManager,
+                ExecutorServiceMetrics.monitor(meterRegistry,
+                        refreshExecutor(threads, queueCapacity),
+                        "books-list-refresh"),
+                meterRegistry,
+                softTtl,
+                hardTtl);
+    }
+
+    public BooksListCache(CacheManager cacheManager,
+                          Executor refreshExecutor,
+                          MeterRegistry meterRegistry,
+                          Duration softTtl,
+                          Duration hardTtl) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(NAME));
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+    }
+
+    public Page<BookResponse> get(PageQueryKey key, BookFilterRequest filter, Pageable pageable,
+                                  Supplier<Page<BookResponse>> loader) {
+        CachedBooksPage cached = cache.get(key, CachedBooksPage.class);
+        if (cached != null) {
+            Duration age = cached.age();
+            if (age.compareTo(hardTtl) < 0) {
+                if (age.compareTo(softTtl) >= 0) {
+                    refreshAsync(key, filter, pageable, loader);
+                }
+                return cached.page();
+            }
+        }
+        return load(key, filter, pageable, loader);
+    }
+
+    public BooksListChange onBookCreated(BookResponse book) {
+        return apply(BooksListChange.created(book));
+    }
+
+    public BooksListChange onBookUpdated(BookResponse before, BookResponse after) {
+        return apply(BooksListChange.updated(before, after));
+    }
+
+    public BooksListChange onBookDeleted(BookResponse book) {
+        return apply(BooksListChange.deleted(book));
+    }
+
+    public BooksListChange apply(BooksListChange change) {
+        generation.incrementAndGet();
+        entries().values()
+                .removeIf(value -> value instanceof CachedBooksPage page && change.isStale(page));
+        return change;
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private Page<BookResponse> load(PageQueryKey key, BookFilterRequest filter, Pageable pageable,
+                                    Supplier<Page<BookResponse>> loader) {
+        long loadGeneration = generation.get();
+        Page<BookResponse> page = loader.get();
+        if (page.isEmpty()) {
+            cache.evict(key);
+            return page;
+        }
+        cache.put(key, CachedBooksPage.of(filter, pageable, page));
+        if (generation.get() != loadGeneration) {
+            // A write was applied while querying, so this page may predate it
+            cache.evict(key);
+        }
+        return page;
+    }
+
+    private void refreshAsync(PageQueryKey key, BookFilterRequest filter, Pageable pageable,
+                              Supplier<Page<BookResponse>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, filter, pageable, loader);
+                    countRefresh("refreshed");
+                } catch (RuntimeException e) {
+                    countRefresh("failed");
+                    log.warn("Refreshing books-list page {} failed", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            countRefresh("rejected");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    // Bounded so refresh-ahead never queues more re-queries than the database should absorb;
+    // refreshes that do not fit are dropped and the stale page is served until its hard TTL
+    private static ExecutorService refreshExecutor(int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("books-list-refresh-", 0).daemon().factory());
+    }
+
+    private void countRefresh(String result) {
+        meterRegistry.counter("cache.refresh", "cache", NAME, "result", result).increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> entries() {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (Map<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return (Map<Object, Object>) map;
+        }
+        throw new IllegalStateException("Unsupported books-list cache: " + nativeCache.getClass());
+    }
+}
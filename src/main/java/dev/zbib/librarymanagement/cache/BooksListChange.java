@@ -0,0 +1,73 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.dto.BookResponse;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A book write described by what cached list pages depend on, so it can be applied to the
+ * books-list cache of this node or shipped to other nodes. A null listing means the book did not
+ * exist before (created) or does not exist after (deleted).
+ */
+public record BooksListChange(UUID bookId, Listing before, Listing after, Set<String> changedProperties) {
+
+    public static BooksListChange created(BookResponse book) {
+        return new BooksListChange(book.getId(), null, Listing.of(book), Set.of());
+    }
+
+    public static BooksListChange updated(BookResponse before, BookResponse after) {
+        return new BooksListChange(after.getId(),
+                Listing.of(before),
+                Listing.of(after),
+                changedProperties(before, after));
+    }
+
+    public static BooksListChange deleted(BookResponse book) {
+        return new BooksListChange(book.getId(), Listing.of(book), null, Set.of());
+    }
+
+    public boolean isStale(CachedBooksPage page) {
+        if (page.contains(bookId)) {
+            return true;
+        }
+        if (before == null) {
+            return page.covers(after);
+        }
+        if (after == null) {
+            return page.covers(before);
+        }
+        boolean coveredBefore = page.covers(before);
+        boolean coveredAfter = page.covers(after);
+        // Entering or leaving the filter, or moving within it on a sorted page
+        return coveredBefore != coveredAfter
+                || (coveredAfter && page.isSortedByAnyOf(changedProperties));
+    }
+
+    private static Set<String> changedProperties(BookResponse before, BookResponse after) {
+        Set<String> changed = new HashSet<>();
+        if (!Objects.equals(before.getTitle(), after.getTitle())) {
+            changed.add("title");
+        }
+        if (!Objects.equals(before.getAuthor(), after.getAuthor())) {
+            changed.add("author");
+        }
+        if (!Objects.equals(before.getIsbn(), after.getIsbn())) {
+            changed.add("ISBN");
+        }
+        if (before.getPublicationYear() != after.getPublicationYear()) {
+            changed.add("publicationYear");
+        }
+        return changed;
+    }
+
+    // The book properties list filters match on
+    public record Listing(String title, String author, String isbn, int publicationYear) {
+
+        static Listing of(BookResponse book) {
+            return new Listing(book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublicationYear());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.zbib.librarymanagement.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Multi-key reads, which Spring's {@link Cache} does not offer. Caffeine answers all keys in one
+ * call; other caches are read key by key.
+ */
+public final class CacheBatch {
+
+    private CacheBatch() {
+    }
+
+    public static <K, V> Map<K, V> getAllPresent(Cache cache, Collection<K> keys, Class<V> type) {
+        Map<K, V> found = new HashMap<>();
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<K, Object> typed =
+                    (com.github.benmanes.caffeine.cache.Cache<K, Object>) caffeine;
+            typed.getAllPresent(keys).forEach((key, value) -> {
+                if (type.isInstance(value)) {
+                    found.put(key, type.cast(value));
+                }
+            });
+            return found;
+        }
+        for (K key : keys) {
+            V value = cache.get(key, type);
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.zbib.librarymanagement.cache;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache entries made stale by a write: the key to evict from each named cache and,
+ * for book writes, the change to apply to cached books-list pages. Without a key the
+ * named caches are cleared, for bulk writes too large to describe key by key.
+ * {@link #SEARCH_INDEXES} is not a cache: clearing it rebuilds the search and suggestion indexes.
+ */
+public record CacheInvalidation(List<String> caches, UUID key, BooksListChange booksList) {
+
+    public static final String SEARCH_INDEXES = "search-indexes";
+
+    public static CacheInvalidation evict(UUID key, String... caches) {
+        return new CacheInvalidation(List.of(caches), key, null);
+    }
+
+    public static CacheInvalidation evict(UUID key, BooksListChange booksList, String... caches) {
+        return new CacheInvalidation(List.of(caches), key, booksList);
+    }
+
+    public static CacheInvalidation clear(String... caches) {
+        return new CacheInvalidation(List.of(caches), null, null);
+    }
+}
@@ -0,0 +1,269 @@
+package dev.zbib.librarymanagement.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.entity.Patron;
+import dev.zbib.librarymanagement.search.BookSearch;
+import dev.zbib.librarymanagement.search.BookSuggester;
+import dev.zbib.librarymanagement.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-process caches of every replica consistent through Postgres LISTEN/NOTIFY.
+ * Writes publish a {@link CacheInvalidation} with pg_notify; inside a transaction Postgres delivers
+ * it only on commit and drops it on rollback. Every other node evicts the same entries locally.
+ * Notifications sent while a node is not listening are lost, so the node clears all its caches
+ * whenever it (re)establishes LISTEN.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    // Entities kept in the Hibernate second-level cache under the same key as these caches
+    private static final Map<String, Class<?>> ENTITY_CACHES = Map.of(
+            BookService.BOOK_CACHE, Book.class,
+            PatronCache.DETAILS, Patron.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager cacheManager;
+    private final BooksListCache booksListCache;
+    private final BookSearch bookSearch;
+    private final BookSuggester bookSuggester;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final CountDownLatch listening = new CountDownLatch(1);
+    private volatile boolean running;
+    private volatile Thread listener;
+
+    public CacheInvalidationBus(CacheManager cacheManager,
+                                BooksListCache booksListCache,
+                                BookSearch bookSearch,
+                                BookSuggester bookSuggester,
+                                EntityManagerFactory entityManagerFactory,
+                                DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+                                @Value("${app.cache.invalidation.poll-timeout:1s}") Duration pollTimeout,
+                                @Value("${app.cache.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.cacheManager = cacheManager;
+        this.booksListCache = booksListCache;
+        this.bookSearch = bookSearch;
+        this.bookSuggester = bookSuggester;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public void publish(CacheInvalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        String payload = toJson(new Message(nodeId, invalidation));
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatement statement) -> {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            return statement.execute();
+        });
+        meterRegistry.counter("cache.invalidation.published").increment();
+    }
+
+    // Entries cached before the first LISTEN are flushed once it is established
+    public boolean awaitListening(Duration timeout) {
+        if (!enabled) {
+            return true;
+        }
+        try {
+            return listening.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    void handle(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        meterRegistry.counter("cache.invalidation.received").increment();
+        CacheInvalidation invalidation = message.invalidation();
+        if (invalidation.key() == null) {
+            clear(invalidation.caches());
+            return;
+        }
+        for (String name : invalidation.caches()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(invalidation.key());
+            }
+            Class<?> entity = ENTITY_CACHES.get(name);
+            if (entity != null) {
+                entityManagerFactory.getCache().evict(entity, invalidation.key());
+            }
+        }
+        if (invalidation.booksList() != null) {
+            booksListCache.apply(invalidation.booksList());
+        }
+        if (invalidation.caches().contains(BookService.BOOK_CACHE)) {
+            bookSearch.reindex(invalidation.key());
+            bookSuggester.reindex(invalidation.key());
+        }
+    }
+
+    private void clear(List<String> caches) {
+        for (String name : caches) {
+            if (BooksListCache.NAME.equals(name)) {
+                booksListCache.clear();
+            } else if (!CacheInvalidation.SEARCH_INDEXES.equals(name)) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            Class<?> entity = ENTITY_CACHES.get(name);
+            if (entity != null) {
+                entityManagerFactory.getCache().evict(entity);
+            }
+        }
+        if (caches.contains(BookService.BOOK_CACHE) || caches.contains(CacheInvalidation.SEARCH_INDEXES)) {
+            bookSearch.rebuild();
+            bookSuggester.rebuild();
+        }
+    }
+
+    void flushLocalCaches() {
+        for (String name : cacheManager.getCacheNames()) {
+            if (BooksListCache.NAME.equals(name)) {
+                booksListCache.clear();
+                continue;
+            }
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        entityManagerFactory.getCache().evictAll();
+        meterRegistry.counter("cache.invalidation.flushes").increment();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform()
+                .name("cache-invalidation-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + channel + "\"");
+                }
+                flushLocalCaches();
+                // After a reconnect the search indexes may have missed writes as well
+                if (listening.getCount() == 0) {
+                    bookSearch.rebuild();
+                    bookSuggester.rebuild();
+                }
+                listening.countDown();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected, retrying in {}", reconnectDelay, e);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    private String toJson(Message message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Message(String origin, CacheInvalidation invalidation) {
+    }
+}
@@ -0,0 +1,233 @@
+package dev.zbib.librarymanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.builder.BookBuilder;
+import dev.zbib.librarymanagement.config.CacheProperties;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Persists the hottest cache keys to a local snapshot file and preloads them on the next startup.
+ * Warm-up runs as an application runner, so the node reports ready only once it is done,
+ * and it stops loading when the configured time budget is used up.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Map<String, Function<Book, Object>> BOOK_CACHES = Map.of(
+            BookService.BOOK_CACHE, BookBuilder::buildBookResponse,
+            BookService.BOOK_SNAPSHOT_CACHE, BookBuilder::buildBookSnapshot);
+
+    private final CacheManager cacheManager;
+    private final BookRepository bookRepository;
+    private final BookService bookService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CacheProperties.WarmUp properties;
+
+    public CacheWarmer(CacheManager cacheManager,
+                       BookRepository bookRepository,
+                       BookService bookService,
+                       CacheInvalidationBus cacheInvalidationBus,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       CacheProperties cacheProperties) {
+        this.cacheManager = cacheManager;
+        this.bookRepository = bookRepository;
+        this.bookService = bookService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.properties = cacheProperties.getWarmUp();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path file = properties.getSnapshotFile();
+        if (!properties.isEnabled() || !Files.isReadable(file)) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        HotKeySnapshot snapshot;
+        try {
+            snapshot = objectMapper.readValue(file.toFile(), HotKeySnapshot.class);
+        } catch (IOException e) {
+            log.warn("Skipping cache warm-up, unreadable snapshot {}", file, e);
+            return;
+        }
+        if (!cacheInvalidationBus.awaitListening(properties.getTimeout())) {
+            log.warn("Skipping cache warm-up, cache invalidation listener is not connected");
+            return;
+        }
+        int books = warmBooks(snapshot.bookIds(), deadline);
+        int pages = warmBooksPages(snapshot.booksPages(), deadline);
+        log.info("Cache warm-up loaded {} book entries and {} books-list pages in {} ms{}",
+                books,
+                pages,
+                (System.nanoTime() - start) / 1_000_000,
+                System.nanoTime() > deadline ? " (time budget exhausted)" : "");
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${app.cache.warm-up.snapshot-interval:5m}",
+            fixedDelayString = "${app.cache.warm-up.snapshot-interval:5m}")
+    public void writeSnapshot() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<String, List<UUID>> bookIds = new LinkedHashMap<>();
+        for (String name : BOOK_CACHES.keySet()) {
+            List<UUID> ids = new ArrayList<>();
+            for (Object key : hottestKeys(name, properties.getHotKeys())) {
+                if (key instanceof UUID id) {
+                    ids.add(id);
+                }
+            }
+            bookIds.put(name, ids);
+        }
+        List<HotBooksPage> booksPages = new ArrayList<>();
+        for (Object key : hottestKeys(BooksListCache.NAME, properties.getHotPages())) {
+            if (key instanceof PageQueryKey pageKey && pageKey.page() >= 0) {
+                booksPages.add(HotBooksPage.of(pageKey));
+            }
+        }
+        if (booksPages.isEmpty() && bookIds.values().stream().allMatch(List::isEmpty)) {
+            return;
+        }
+        try {
+            write(new HotKeySnapshot(bookIds, booksPages));
+        } catch (IOException e) {
+            log.warn("Could not write cache snapshot {}", properties.getSnapshotFile(), e);
+        }
+    }
+
+    private int warmBooks(Map<String, List<UUID>> bookIds, long deadline) {
+        Map<UUID, List<String>> cachesById = new LinkedHashMap<>();
+        bookIds.forEach((name, ids) -> {
+            if (BOOK_CACHES.containsKey(name)) {
+                ids.forEach(id -> cachesById.computeIfAbsent(id, ignored -> new ArrayList<>()).add(name));
+            }
+        });
+        List<UUID> ids = new ArrayList<>(cachesById.keySet());
+        int loaded = 0;
+        for (int from = 0; from < ids.size() && System.nanoTime() < deadline; from += properties.getBatchSize()) {
+            List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize()));
+            for (Book book : bookRepository.findAllById(batch)) {
+                for (String name : cachesById.get(book.getId())) {
+                    cache(name).put(book.getId(), BOOK_CACHES.get(name).apply(book));
+                    meterRegistry.counter("cache.warmup.loaded", "cache", name).increment();
+                    loaded++;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private int warmBooksPages(List<HotBooksPage> pages, long deadline) {
+        int loaded = 0;
+        for (HotBooksPage page : pages) {
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            bookService.getBooks(page.filter().toFilterRequest(),
+                    PageRequest.of(page.page(), page.size(), page.toSort()));
+            meterRegistry.counter("cache.warmup.loaded", "cache", BooksListCache.NAME).increment();
+            loaded++;
+        }
+        return loaded;
+    }
+
+    private List<Object> hottestKeys(String name, int limit) {
+        Object nativeCache = cache(name).getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> typed =
+                    (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+            Set<Object> keys = typed.policy()
+                    .eviction()
+                    .map(eviction -> eviction.hottest(limit).keySet())
+                    .orElseGet(() -> typed.asMap().keySet());
+            return keys.stream().limit(limit).toList();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return map.keySet().stream().limit(limit).map(Object.class::cast).toList();
+        }
+        return List.of();
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Unknown cache: " + name);
+        }
+        return cache;
+    }
+
+    private void write(HotKeySnapshot snapshot) throws IOException {
+        Path file = properties.getSnapshotFile().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    record HotKeySnapshot(Map<String, List<UUID>> bookIds, List<HotBooksPage> booksPages) {
+    }
+
+    record HotBooksPage(PageQueryKey.BookFilterKey filter, int page, int size, List<String> sort) {
+
+        static HotBooksPage of(PageQueryKey key) {
+            return new HotBooksPage((PageQueryKey.BookFilterKey) key.filter(),
+                    key.page(),
+                    key.size(),
+                    key.sort()
+                            .stream()
+                            .map(order -> order.getProperty() + "," + order.getDirection())
+                            .toList());
+        }
+
+        Sort toSort() {
+            return Sort.by(sort.stream()
+                    .map(order -> {
+                        int comma = order.lastIndexOf(',');
+                        return new Sort.Order(Sort.Direction.fromString(order.substring(comma + 1)),
+                                order.substring(0, comma));
+                    })
+                    .toList());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A cached books-list page together with the dependencies needed to invalidate it:
+ * the ids it contains, its filter and the properties it is sorted by.
+ * {@code loadedAt} is the {@link System#nanoTime()} at which the page was queried.
+ */
+public record CachedBooksPage(
+        Page<BookResponse> page,
+        Set<UUID> bookIds,
+        PageQueryKey.BookFilterKey filter,
+        Set<String> sortProperties,
+        long loadedAt) implements WeightedValue {
+
+    public static CachedBooksPage of(BookFilterRequest filter, Pageable pageable, Page<BookResponse> page) {
+        return new CachedBooksPage(page,
+                page.stream()
+                        .map(BookResponse::getId)
+                        .collect(Collectors.toUnmodifiableSet()),
+                PageQueryKey.BookFilterKey.of(filter),
+                pageable.getSort()
+                        .stream()
+                        .map(Sort.Order::getProperty)
+                        .collect(Collectors.toUnmodifiableSet()),
+                System.nanoTime());
+    }
+
+    public Duration age() {
+        return Duration.ofNanos(System.nanoTime() - loadedAt);
+    }
+
+    public boolean contains(UUID bookId) {
+        return bookIds.contains(bookId);
+    }
+
+    public boolean covers(BooksListChange.Listing book) {
+        return filter.matches(book);
+    }
+
+    public boolean isSortedByAnyOf(Set<String> properties) {
+        return sortProperties.stream()
+                .anyMatch(properties::contains);
+    }
+
+    @Override
+    public int weight() {
+        return Math.max(1, page.getNumberOfElements());
+    }
+}
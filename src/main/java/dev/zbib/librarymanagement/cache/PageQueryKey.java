@@ -0,0 +1,163 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
+import dev.zbib.librarymanagement.entity.BorrowingStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Cache key for a paged query: the endpoint scope, its normalized filter, the page, the size and the sort.
+ * The hash is computed once so that lookups in the list caches do not rehash the sort on every call.
+ */
+public final class PageQueryKey implements Serializable {
+
+    public static final String BOOKS = "books";
+    public static final String PATRONS = "patrons";
+    public static final String BORROWING_RECORDS = "borrowing-records";
+
+    private final String scope;
+    private final Object filter;
+    private final int page;
+    private final int size;
+    private final Sort sort;
+    private final int hash;
+
+    private PageQueryKey(String scope, Object filter, Pageable pageable) {
+        this.scope = scope;
+        this.filter = filter;
+        this.page = pageable.isPaged() ? pageable.getPageNumber() : -1;
+        this.size = pageable.isPaged() ? pageable.getPageSize() : -1;
+        this.sort = pageable.getSort();
+        this.hash = Objects.hash(scope, filter, page, size, sort);
+    }
+
+    public static PageQueryKey forBooks(BookFilterRequest filter, Pageable pageable) {
+        return new PageQueryKey(BOOKS, BookFilterKey.of(filter), pageable);
+    }
+
+    public static PageQueryKey forPatrons(Pageable pageable) {
+        return new PageQueryKey(PATRONS, null, pageable);
+    }
+
+    public static PageQueryKey forBorrowingRecords(BorrowingRecordFilter filter, Pageable pageable) {
+        return new PageQueryKey(BORROWING_RECORDS, BorrowingRecordFilterKey.of(filter), pageable);
+    }
+
+    public String scope() {
+        return scope;
+    }
+
+    public Object filter() {
+        return filter;
+    }
+
+    public int page() {
+        return page;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageQueryKey other)) {
+            return false;
+        }
+        return hash == other.hash
+                && page == other.page
+                && size == other.size
+                && scope.equals(other.scope)
+                && Objects.equals(filter, other.filter)
+                && sort.equals(other.sort);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return scope + "[filter=" + filter + ", page=" + page + ", size=" + size + ", sort=" + sort + "]";
+    }
+
+    /**
+     * A books-list filter with blank text treated as absent, so equivalent requests share a key.
+     * {@code BookService} builds its predicates from this form, and {@link #matches} mirrors them.
+     */
+    public record BookFilterKey(int fromYear,
+                                int toYear,
+                                String author,
+                                String titlePrefix,
+                                String isbn) implements Serializable {
+
+        public static BookFilterKey of(BookFilterRequest filter) {
+            if (filter == null) {
+                return new BookFilterKey(0, 0, null, null, null);
+            }
+            return new BookFilterKey(Math.max(0, filter.getFromYear()),
+                    Math.max(0, filter.getToYear()),
+                    trimToNull(filter.getAuthor()),
+                    trimToNull(filter.getTitlePrefix()),
+                    trimToNull(filter.getIsbn()));
+        }
+
+        public boolean matches(BooksListChange.Listing book) {
+            return (fromYear <= 0 || book.publicationYear() >= fromYear)
+                    && (toYear <= 0 || book.publicationYear() <= toYear)
+                    && (author == null || author.equals(book.author()))
+                    && (titlePrefix == null || book.title().startsWith(titlePrefix))
+                    && (isbn == null || isbn.equals(book.isbn()));
+        }
+
+        public BookFilterRequest toFilterRequest() {
+            return BookFilterRequest.builder()
+                    .fromYear(fromYear)
+                    .toYear(toYear)
+                    .author(author)
+                    .titlePrefix(titlePrefix)
+                    .isbn(isbn)
+                    .build();
+        }
+
+        private static String trimToNull(String value) {
+            return StringUtils.hasText(value) ? value.trim() : null;
+        }
+    }
+
+    public record BorrowingRecordFilterKey(
+            UUID patronId,
+            UUID bookId,
+            BorrowingStatus status,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            Boolean isOverdue) implements Serializable {
+
+        static BorrowingRecordFilterKey of(BorrowingRecordFilter filter) {
+            if (filter == null) {
+                return new BorrowingRecordFilterKey(null, null, null, null, null, null);
+            }
+            return new BorrowingRecordFilterKey(filter.getPatronId(),
+                    filter.getBookId(),
+                    filter.getStatus(),
+                    filter.getFromDate(),
+                    filter.getToDate(),
+                    filter.getIsOverdue());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.dto.PatronResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Patron read cache with a short-lived negative cache of ids that were looked up and not found,
+ * so repeated lookups of unknown ids are answered without a database round trip.
+ * Writes made inside a transaction are applied only once it commits.
+ */
+@Component
+public class PatronCache {
+
+    public static final String DETAILS = "patron-details";
+    public static final String MISSING = "patrons-missing";
+
+    private final Cache details;
+    private final Cache missing;
+
+    public PatronCache(CacheManager cacheManager) {
+        this.details = new TransactionAwareCacheDecorator(Objects.requireNonNull(cacheManager.getCache(DETAILS)));
+        this.missing = new TransactionAwareCacheDecorator(Objects.requireNonNull(cacheManager.getCache(MISSING)));
+    }
+
+    public PatronResponse get(UUID id) {
+        return details.get(id, PatronResponse.class);
+    }
+
+    public Map<UUID, PatronResponse> getAll(Collection<UUID> ids) {
+        return CacheBatch.getAllPresent(details, ids, PatronResponse.class);
+    }
+
+    public void put(PatronResponse patron) {
+        details.put(patron.getId(), patron);
+        missing.evict(patron.getId());
+    }
+
+    public void evict(UUID id) {
+        details.evict(id);
+    }
+
+    public boolean isKnownMissing(UUID id) {
+        return missing.get(id) != null;
+    }
+
+    public Set<UUID> knownMissing(Collection<UUID> ids) {
+        return CacheBatch.getAllPresent(missing, ids, Boolean.class).keySet();
+    }
+
+    public void markMissing(UUID id) {
+        details.evict(id);
+        missing.put(id, Boolean.TRUE);
+    }
+}
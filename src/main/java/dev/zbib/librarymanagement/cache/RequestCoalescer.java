@@ -0,0 +1,86 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.deadline.RequestDeadline;
+import dev.zbib.librarymanagement.exception.CacheException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading: concurrent callers asking for the same key while a load is in progress
+ * wait for that load instead of starting their own, and receive its result or its exception.
+ * The load runs with at least the waiting timeout left on its deadline, since every waiter
+ * depends on it and not only the caller that started it.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<LoadKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${app.cache.coalescing.timeout:5s}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    public <T> T load(String namespace, Object key, Supplier<T> loader) {
+        LoadKey loadKey = new LoadKey(namespace, key);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(loadKey, future);
+        if (existing != null) {
+            meterRegistry.counter("cache.coalescing.deduplicated", "namespace", namespace).increment();
+            return await(namespace, existing);
+        }
+
+        meterRegistry.counter("cache.coalescing.loads", "namespace", namespace).increment();
+        try {
+            T value = RequestDeadline.widen(timeout, loader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(loadKey, future);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(String namespace, CompletableFuture<Object> future) {
+        try {
+            return (T) future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter("cache.coalescing.timeouts", "namespace", namespace).increment();
+            throw new CacheException.LoadTimeout();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException.LoadTimeout();
+        }
+    }
+
+    private record LoadKey(String namespace, Object key) {
+    }
+}
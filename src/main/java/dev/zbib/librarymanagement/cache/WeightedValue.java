@@ -0,0 +1,6 @@
+package dev.zbib.librarymanagement.cache;
+
+public interface WeightedValue {
+
+    int weight();
+}
@@ -1,17 +1,73 @@
 package dev.zbib.librarymanagement.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.zbib.librarymanagement.cache.WeightedValue;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Collection;
 
 @Configuration
 @EnableCaching
+@EnableScheduling
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("book-details", "books-list");
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(buildCaffeine(properties.getDefaults()));
+        properties.getCaches()
+                .forEach((name, spec) -> cacheManager.registerCustomCache(name,
+                        buildCaffeine(spec).build()));
+        return cacheManager;
+    }
+
+    static Caffeine<Object, Object> buildCaffeine(CacheProperties.CacheSpec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (spec.getInitialCapacity() != null) {
+            builder.initialCapacity(spec.getInitialCapacity());
+        }
+        if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher(CacheConfig::weigh);
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        if (spec.isRecordStats()) {
+            builder.recordStats();
+        }
+        return builder;
+    }
+
+    // Paged and collection values weigh as many units as they hold elements so that
+    // maximum-weight bounds list caches by rows rather than by entries.
+    private static int weigh(Object key, Object value) {
+        if (value instanceof WeightedValue weighted) {
+            return weighted.weight();
+        }
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Iterable<?> iterable) {
+            int count = 0;
+            for (Object ignored : iterable) {
+                count++;
+            }
+            return Math.max(1, count);
+        }
+        return 1;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package dev.zbib.librarymanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private CacheSpec defaults = new CacheSpec();
+
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    private Map<String, CacheSpec> hibernateRegions = new LinkedHashMap<>();
+
+    private WarmUp warmUp = new WarmUp();
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+        private Long maximumSize;
+        private Long maximumWeight;
+        private Integer initialCapacity;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private boolean recordStats = true;
+    }
+
+    @Getter
+    @Setter
+    public static class WarmUp {
+        private boolean enabled = true;
+        private Path snapshotFile = Path.of("cache-snapshot.json");
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+        private int hotKeys = 1000;
+        private int hotPages = 50;
+        private int batchSize = 500;
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+}
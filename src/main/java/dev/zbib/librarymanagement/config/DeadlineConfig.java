@@ -0,0 +1,39 @@
+package dev.zbib.librarymanagement.config;
+
+import dev.zbib.librarymanagement.deadline.DeadlineDataSource;
+import dev.zbib.librarymanagement.deadline.DeadlineInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor deadlineInterceptor;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor);
+    }
+
+    // Wraps the pool itself, so JPA, JdbcTemplate and the transaction managers all see the deadline
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package dev.zbib.librarymanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Opt-in Hibernate second-level and query cache backed by Caffeine through JCache.
+ * Every region is created up front with the limits from app.cache.hibernate-regions
+ * (or the cache defaults), so no region can fall back to an unbounded cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class HibernateCacheConfig {
+
+    public static final String BOOKS_REGION = "books";
+    public static final String PATRONS_REGION = "patrons";
+    public static final String USERS_REGION = "users";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<String> REQUIRED_REGIONS = List.of(
+            BOOKS_REGION,
+            PATRONS_REGION,
+            USERS_REGION,
+            QUERY_RESULTS_REGION,
+            UPDATE_TIMESTAMPS_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        Set<String> regions = new LinkedHashSet<>(REQUIRED_REGIONS);
+        regions.addAll(properties.getHibernateRegions().keySet());
+        for (String region : regions) {
+            CacheProperties.CacheSpec spec = properties.getHibernateRegions()
+                    .getOrDefault(region, defaultSpec(region, properties));
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, buildConfiguration(spec));
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // One entry per table; losing one would make stale query results look current, so it is never bounded
+    private static CacheProperties.CacheSpec defaultSpec(String region, CacheProperties properties) {
+        return UPDATE_TIMESTAMPS_REGION.equals(region) ? new CacheProperties.CacheSpec() : properties.getDefaults();
+    }
+
+    private static CaffeineConfiguration<Object, Object> buildConfiguration(CacheProperties.CacheSpec spec) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (spec.getMaximumSize() != null) {
+            configuration.setMaximumSize(OptionalLong.of(spec.getMaximumSize()));
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(spec.getExpireAfterWrite().toNanos()));
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            configuration.setExpireAfterAccess(OptionalLong.of(spec.getExpireAfterAccess().toNanos()));
+        }
+        configuration.setStatisticsEnabled(spec.isRecordStats());
+        return configuration;
+    }
+}
@@ -1,11 +1,23 @@
 package dev.zbib.librarymanagement.controller;
 
+import dev.zbib.librarymanagement.bulk.ExportLimiter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.deadline.Deadline;
+import dev.zbib.librarymanagement.dto.BatchGetItem;
+import dev.zbib.librarymanagement.dto.BatchGetRequest;
 import dev.zbib.librarymanagement.dto.BookCreationRequest;
 import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.dto.BookSearchResult;
+import dev.zbib.librarymanagement.dto.BookSuggestion;
 import dev.zbib.librarymanagement.dto.BookUpdateRequest;
 import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.dto.ImportReport;
+import dev.zbib.librarymanagement.dto.SliceResponse;
 import dev.zbib.librarymanagement.logging.LogLevel;
 import dev.zbib.librarymanagement.logging.LoggableOperation;
+import dev.zbib.librarymanagement.pagination.CountMode;
+import dev.zbib.librarymanagement.pagination.ScrollRequest;
 import dev.zbib.librarymanagement.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,9 +27,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -27,6 +44,7 @@ import java.util.UUID;
 public class BookController {
 
     private final BookService bookService;
+    private final ExportLimiter exportLimiter;
 
     @Operation(
         summary = "Create new book",
@@ -40,17 +58,29 @@ public class BookController {
         return ResponseEntity.ok(bookService.createBook(request));
     }
 
+    @Operation(
+        summary = "Get books by IDs",
+        description = "Look up to 500 books in one request. Results follow the request order, with found=false for unknown IDs"
+    )
+    @ApiResponse(responseCode = "200", description = "One result per requested ID")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized ID list")
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<BatchGetItem<BookResponse>>> getBooksByIds(@Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(bookService.getBooksByIds(request.getIds()));
+    }
+
     @Operation(
         summary = "Get book by ID",
         description = "Retrieve a book's details by its ID"
     )
     @ApiResponse(responseCode = "200", description = "Book found")
+    @ApiResponse(responseCode = "304", description = "Book not modified since the given ETag or date")
     @ApiResponse(responseCode = "404", description = "Book not found")
     @GetMapping("/{id}")
     public ResponseEntity<BookResponse> getBookById(
             @Parameter(description = "Book ID", required = true) 
             @PathVariable UUID id) {
-        return ResponseEntity.ok(bookService.getBookRequestById(id));
+        return VersionedResponses.ok(bookService.getBookRequestById(id));
     }
 
     @Operation(
@@ -58,13 +88,108 @@ public class BookController {
         description = "Retrieve all books with filtering and pagination"
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved books")
+    @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag")
     @GetMapping
     public ResponseEntity<Page<BookResponse>> getBooks(
             @Parameter(description = "Filter parameters") 
             @Valid @ModelAttribute BookFilterRequest filterRequest,
             @Parameter(description = "Pagination parameters") 
             Pageable pageable) {
-        return ResponseEntity.ok(bookService.getBooks(filterRequest, pageable));
+        return VersionedResponses.ok(bookService.getBooks(filterRequest, pageable));
+    }
+
+    @Operation(
+        summary = "Get books without a mandatory count",
+        description = "Retrieve a page of books with filtering; the total is exact, cached, planner-estimated or omitted as requested by the count parameter"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved books")
+    @GetMapping(params = "count")
+    public ResponseEntity<SliceResponse<BookResponse>> getBookSlice(
+            @Parameter(description = "Filter parameters")
+            @Valid @ModelAttribute BookFilterRequest filterRequest,
+            @Parameter(description = "Pagination parameters")
+            Pageable pageable,
+            @Parameter(description = "How the total is computed: EXACT, CACHED, ESTIMATED or NONE")
+            @RequestParam CountMode count) {
+        return ResponseEntity.ok(bookService.getBookSlice(filterRequest, pageable, count));
+    }
+
+    @Operation(
+        summary = "Import books",
+        description = "Create books from an NDJSON or CSV stream. Rows are validated like single creations and written in chunks; invalid rows and rows whose ISBN already exists are skipped and reported by row number"
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows")
+    @LoggableOperation(operationType = "BOOK_IMPORT", description = "Bulk import books", includeResult = true)
+    @Deadline("0")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", "application/octet-stream"})
+    public ResponseEntity<ImportReport> importBooks(
+            @Parameter(description = "NDJSON or CSV with a header row")
+            @RequestParam(defaultValue = "NDJSON") RowFormat format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(bookService.importBooks(body, format));
+    }
+
+    @Operation(
+        summary = "Export books",
+        description = "Stream every book matching the filters as NDJSON or CSV, one row per line"
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @Parameter(description = "Filter parameters")
+            @Valid @ModelAttribute BookFilterRequest filterRequest,
+            @Parameter(description = "NDJSON or CSV")
+            @RequestParam(defaultValue = "NDJSON") RowFormat format) {
+        return ExportResponses.attachment("books",
+                format,
+                exportLimiter.limit(output -> bookService.exportBooks(filterRequest, format, output)));
+    }
+
+    @Operation(
+        summary = "Search books",
+        description = "Full-text search over titles and authors, best matches first"
+    )
+    @ApiResponse(responseCode = "200", description = "Matching books ranked by relevance")
+    @GetMapping("/search")
+    public ResponseEntity<List<BookSearchResult>> searchBooks(
+            @Parameter(description = "Search terms", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of results, at most 100")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(bookService.searchBooks(q, Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @Operation(
+        summary = "Suggest titles and authors",
+        description = "Typeahead completions for a partially typed title or author, most borrowed first"
+    )
+    @ApiResponse(responseCode = "200", description = "Suggestions for the prefix")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BookSuggestion>> suggestBooks(
+            @Parameter(description = "What the user has typed so far", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions, at most 20")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(bookService.suggestBooks(prefix, Math.min(Math.max(limit, 1), 20)));
+    }
+
+    @Operation(
+        summary = "Scroll books",
+        description = "Retrieve books page by page using a continuation cursor instead of an offset; no total count is returned"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved books")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<BookResponse>> scrollBooks(
+            @Parameter(description = "Filter parameters")
+            @Valid @ModelAttribute BookFilterRequest filterRequest,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Single sort property and direction, ignored when a cursor is given")
+            Sort sort) {
+        return ResponseEntity.ok(bookService.scrollBooks(filterRequest, new ScrollRequest(cursor, sort, size)));
     }
 
     @Operation(
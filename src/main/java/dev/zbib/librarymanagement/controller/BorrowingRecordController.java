@@ -1,9 +1,16 @@
 package dev.zbib.librarymanagement.controller;
 
+import dev.zbib.librarymanagement.bulk.ExportLimiter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.deadline.Deadline;
 import dev.zbib.librarymanagement.dto.BookBorrowingRequest;
 import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
-import dev.zbib.librarymanagement.entity.BorrowingRecord;
+import dev.zbib.librarymanagement.dto.BorrowingRecordResponse;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.dto.SliceResponse;
 import dev.zbib.librarymanagement.logging.LoggableOperation;
+import dev.zbib.librarymanagement.pagination.CountMode;
+import dev.zbib.librarymanagement.pagination.ScrollRequest;
 import dev.zbib.librarymanagement.service.BorrowingRecordService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,8 +20,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -24,6 +33,7 @@ import java.util.UUID;
 public class BorrowingRecordController {
 
     private final BorrowingRecordService borrowingRecordService;
+    private final ExportLimiter exportLimiter;
 
     @Operation(
         summary = "Borrow book",
@@ -62,12 +72,67 @@ public class BorrowingRecordController {
         description = "Retrieve all borrowing records with filtering and pagination"
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved records")
+    @ApiResponse(responseCode = "503", description = "Request deadline exceeded")
+    @Deadline("5s")
     @GetMapping("/borrow")
-    public ResponseEntity<Page<BorrowingRecord>> getBorrowingRecords(
+    public ResponseEntity<Page<BorrowingRecordResponse>> getBorrowingRecords(
             @Parameter(description = "Filter parameters") 
             @Valid @ModelAttribute BorrowingRecordFilter filter,
             @Parameter(description = "Pagination parameters") 
             Pageable pageable) {
         return ResponseEntity.ok(borrowingRecordService.getBorrowingRecords(filter, pageable));
     }
+
+    @Operation(
+        summary = "Export borrowing records",
+        description = "Stream every borrowing record matching the filters as NDJSON or CSV, one row per line"
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @GetMapping("/borrow/export")
+    public ResponseEntity<StreamingResponseBody> exportBorrowingRecords(
+            @Parameter(description = "Filter parameters")
+            @Valid @ModelAttribute BorrowingRecordFilter filter,
+            @Parameter(description = "NDJSON or CSV")
+            @RequestParam(defaultValue = "NDJSON") RowFormat format) {
+        return ExportResponses.attachment("borrowing-records",
+                format,
+                exportLimiter.limit(output -> borrowingRecordService.exportBorrowingRecords(filter, format, output)));
+    }
+
+    @Operation(
+        summary = "Get borrowing records without a mandatory count",
+        description = "Retrieve a page of borrowing records with filtering; the total is exact, cached, planner-estimated or omitted as requested by the count parameter"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved records")
+    @ApiResponse(responseCode = "503", description = "Request deadline exceeded")
+    @Deadline("5s")
+    @GetMapping(value = "/borrow", params = "count")
+    public ResponseEntity<SliceResponse<BorrowingRecordResponse>> getBorrowingRecordSlice(
+            @Parameter(description = "Filter parameters")
+            @Valid @ModelAttribute BorrowingRecordFilter filter,
+            @Parameter(description = "Pagination parameters")
+            Pageable pageable,
+            @Parameter(description = "How the total is computed: EXACT, CACHED, ESTIMATED or NONE")
+            @RequestParam CountMode count) {
+        return ResponseEntity.ok(borrowingRecordService.getBorrowingRecordSlice(filter, pageable, count));
+    }
+
+    @Operation(
+        summary = "Scroll borrowing records",
+        description = "Retrieve borrowing records page by page using a continuation cursor instead of an offset; no total count is returned"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved records")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort")
+    @GetMapping("/borrow/scroll")
+    public ResponseEntity<CursorPage<BorrowingRecordResponse>> scrollBorrowingRecords(
+            @Parameter(description = "Filter parameters")
+            @Valid @ModelAttribute BorrowingRecordFilter filter,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Single sort property and direction, ignored when a cursor is given")
+            Sort sort) {
+        return ResponseEntity.ok(borrowingRecordService.scrollBorrowingRecords(filter, new ScrollRequest(cursor, sort, size)));
+    }
 }
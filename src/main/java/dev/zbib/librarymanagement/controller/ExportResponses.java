@@ -0,0 +1,27 @@
+package dev.zbib.librarymanagement.controller;
+
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Export downloads. The body is written after the handler returns, on an MVC async thread,
+ * so the rows go out as they are read instead of being collected first.
+ */
+final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> attachment(String name, RowFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -1,9 +1,19 @@
 package dev.zbib.librarymanagement.controller;
 
+import dev.zbib.librarymanagement.bulk.ExportLimiter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.deadline.Deadline;
+import dev.zbib.librarymanagement.dto.BatchGetItem;
+import dev.zbib.librarymanagement.dto.BatchGetRequest;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.dto.ImportReport;
 import dev.zbib.librarymanagement.dto.PatronCreationRequest;
 import dev.zbib.librarymanagement.dto.PatronResponse;
 import dev.zbib.librarymanagement.dto.PatronUpdateRequest;
+import dev.zbib.librarymanagement.dto.SliceResponse;
 import dev.zbib.librarymanagement.logging.LoggableOperation;
+import dev.zbib.librarymanagement.pagination.CountMode;
+import dev.zbib.librarymanagement.pagination.ScrollRequest;
 import dev.zbib.librarymanagement.service.PatronService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,9 +23,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,6 +41,7 @@ import java.util.UUID;
 public class PatronController {
 
     private final PatronService patronService;
+    private final ExportLimiter exportLimiter;
 
     @Operation(
         summary = "Create patron",
@@ -39,17 +56,29 @@ public class PatronController {
         return ResponseEntity.ok(id);
     }
 
+    @Operation(
+        summary = "Get patrons by IDs",
+        description = "Look up to 500 patrons in one request. Results follow the request order, with found=false for unknown IDs"
+    )
+    @ApiResponse(responseCode = "200", description = "One result per requested ID")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized ID list")
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<BatchGetItem<PatronResponse>>> getPatronsByIds(@Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(patronService.getPatronsByIds(request.getIds()));
+    }
+
     @Operation(
         summary = "Get patron by ID",
         description = "Retrieve a patron's details by their ID"
     )
     @ApiResponse(responseCode = "200", description = "Patron found")
+    @ApiResponse(responseCode = "304", description = "Patron not modified since the given ETag or date")
     @ApiResponse(responseCode = "404", description = "Patron not found")
     @GetMapping("/{id}")
     public ResponseEntity<PatronResponse> getPatronById(
             @Parameter(description = "Patron ID", required = true) 
             @PathVariable UUID id) {
-        return ResponseEntity.ok(patronService.getPatronRequestById(id));
+        return VersionedResponses.ok(patronService.getPatronRequestById(id));
     }
 
     @Operation(
@@ -64,6 +93,86 @@ public class PatronController {
         return ResponseEntity.ok(patronService.getPatrons(pageable));
     }
 
+    @Operation(
+        summary = "Import patrons",
+        description = "Create patrons from an NDJSON or CSV stream. Rows are validated like single registrations and written in chunks; invalid rows and rows whose email repeats an earlier row or an existing patron are skipped and reported by row number"
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows")
+    @LoggableOperation(operationType = "PATRON_IMPORT", description = "Bulk import patrons", includeResult = true)
+    @Deadline("0")
+    @PostMapping(value = "/import",
+            consumes = {"application/x-ndjson", "text/csv", "application/octet-stream"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReport> importPatrons(
+            @Parameter(description = "NDJSON or CSV with a header row")
+            @RequestParam(defaultValue = "NDJSON") RowFormat format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(patronService.importPatrons(body, format));
+    }
+
+    @Operation(
+        summary = "Import patrons with progress",
+        description = "Same import, answered with NDJSON events as it runs: running totals after each chunk, each rejected row, and the final report"
+    )
+    @ApiResponse(responseCode = "200", description = "Import events streamed")
+    @PostMapping(value = "/import",
+            consumes = {"application/x-ndjson", "text/csv", "application/octet-stream"},
+            produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPatronImport(
+            @Parameter(description = "NDJSON or CSV with a header row")
+            @RequestParam(defaultValue = "NDJSON") RowFormat format,
+            InputStream body) {
+        exportLimiter.extendTimeout();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(output -> patronService.streamPatronImport(body, format, output));
+    }
+
+    @Operation(
+        summary = "Export patrons",
+        description = "Stream every patron as NDJSON or CSV, one row per line"
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPatrons(
+            @Parameter(description = "NDJSON or CSV")
+            @RequestParam(defaultValue = "NDJSON") RowFormat format) {
+        return ExportResponses.attachment("patrons",
+                format,
+                exportLimiter.limit(output -> patronService.exportPatrons(format, output)));
+    }
+
+    @Operation(
+        summary = "Get patrons without a mandatory count",
+        description = "Retrieve a page of patrons; the total is exact, cached, planner-estimated or omitted as requested by the count parameter"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved patrons")
+    @GetMapping(params = "count")
+    public ResponseEntity<SliceResponse<PatronResponse>> getPatronSlice(
+            @Parameter(description = "Pagination parameters")
+            Pageable pageable,
+            @Parameter(description = "How the total is computed: EXACT, CACHED, ESTIMATED or NONE")
+            @RequestParam CountMode count) {
+        return ResponseEntity.ok(patronService.getPatronSlice(pageable, count));
+    }
+
+    @Operation(
+        summary = "Scroll patrons",
+        description = "Retrieve patrons page by page using a continuation cursor instead of an offset; no total count is returned"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved patrons")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<PatronResponse>> scrollPatrons(
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Single sort property and direction, ignored when a cursor is given")
+            Sort sort) {
+        return ResponseEntity.ok(patronService.scrollPatrons(new ScrollRequest(cursor, sort, size)));
+    }
+
     @Operation(
         summary = "Update patron",
         description = "Update an existing patron's details"
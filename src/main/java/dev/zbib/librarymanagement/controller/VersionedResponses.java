@@ -0,0 +1,48 @@
+package dev.zbib.librarymanagement.controller;
+
+import dev.zbib.librarymanagement.dto.Versioned;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 200 responses carrying validators derived from entity versions. Spring MVC compares them with
+ * If-None-Match / If-Modified-Since and answers 304 without serializing the body. A body without
+ * a version gets no ETag, since there would be nothing to tell its revisions apart.
+ */
+final class VersionedResponses {
+
+    private VersionedResponses() {
+    }
+
+    static <T extends Versioned> ResponseEntity<T> ok(T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (body.getVersion() != null) {
+            builder.eTag(body.getId() + "-" + body.getVersion());
+        }
+        if (body.getLastModified() != null) {
+            builder.lastModified(body.getLastModified());
+        }
+        return builder.body(body);
+    }
+
+    // No Last-Modified for pages: removing a row would not move the newest timestamp forward
+    static <T extends Versioned> ResponseEntity<Page<T>> ok(Page<T> page) {
+        StringBuilder validator = new StringBuilder()
+                .append(page.getTotalElements());
+        for (T element : page) {
+            if (element.getVersion() == null) {
+                return ResponseEntity.ok(page);
+            }
+            validator.append(';')
+                    .append(element.getId())
+                    .append(':')
+                    .append(element.getVersion());
+        }
+        return ResponseEntity.ok()
+                .eTag(DigestUtils.md5DigestAsHex(validator.toString().getBytes(StandardCharsets.UTF_8)))
+                .body(page);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.zbib.librarymanagement.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Default time budget of an endpoint when the client sends none, e.g. {@code "5s"} or
+ * {@code "500ms"}. {@code "0"} leaves the endpoint without a deadline.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Deadline {
+    String value();
+}
@@ -0,0 +1,91 @@
+package dev.zbib.librarymanagement.deadline;
+
+import org.postgresql.jdbc.PgStatement;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Gives every statement created under a {@link RequestDeadline} a query timeout of the time left,
+ * so the driver cancels it on the server when the budget runs out instead of holding the
+ * connection for a client that has given up. Connections taken without a deadline are returned
+ * as they are, and once the deadline has passed no connection or statement is handed out at all.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    public DeadlineDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    private static Connection withDeadline(Connection target) throws SQLException {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return target;
+        }
+        if (remaining.isNegative() || remaining.isZero()) {
+            target.close();
+            throw exceeded();
+        }
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(target, method, args);
+                        if (result instanceof Statement statement) {
+                            applyDeadline(statement);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    // Statements are created right before they run, so the time left now is the statement's budget
+    private static void applyDeadline(Statement statement) throws SQLException {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return;
+        }
+        long millis = remaining.toMillis();
+        if (millis <= 0) {
+            statement.close();
+            throw exceeded();
+        }
+        if (statement.isWrapperFor(PgStatement.class)) {
+            statement.unwrap(PgStatement.class).setQueryTimeoutMs(millis);
+        } else {
+            statement.setQueryTimeout((int) Math.max(1, (millis + 999) / 1000));
+        }
+    }
+
+    private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static SQLTimeoutException exceeded() {
+        return new SQLTimeoutException("Request deadline exceeded");
+    }
+}
@@ -0,0 +1,98 @@
+package dev.zbib.librarymanagement.deadline;
+
+import dev.zbib.librarymanagement.exception.DeadlineException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Starts the request deadline from the client's budget header, capped at {@code max-budget}, or
+ * else from the handler's {@link Deadline} or the global default. Each request with a deadline is
+ * counted under {@code request.deadline} by where its budget came from and whether it was met.
+ */
+@Component
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SOURCE = DeadlineInterceptor.class.getName() + ".source";
+
+    private final MeterRegistry meterRegistry;
+    private final String header;
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public DeadlineInterceptor(MeterRegistry meterRegistry,
+                               @Value("${app.deadline.header:X-Request-Timeout}") String header,
+                               @Value("${app.deadline.default-budget:10s}") Duration defaultBudget,
+                               @Value("${app.deadline.max-budget:60s}") Duration maxBudget) {
+        this.meterRegistry = meterRegistry;
+        this.header = header;
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        RequestDeadline.clear();
+        String requested = request.getHeader(header);
+        Duration budget;
+        String source;
+        if (requested != null && !requested.isBlank()) {
+            budget = parse(requested);
+            if (budget.isNegative() || budget.isZero()) {
+                throw new DeadlineException.InvalidBudget(header);
+            }
+            budget = budget.compareTo(maxBudget) > 0 ? maxBudget : budget;
+            source = "header";
+        } else {
+            Deadline deadline = handler instanceof HandlerMethod method
+                    ? AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Deadline.class)
+                    : null;
+            budget = deadline == null ? defaultBudget : parse(deadline.value());
+            source = deadline == null ? "default" : "endpoint";
+        }
+        if (!budget.isZero()) {
+            RequestDeadline.start(budget);
+            request.setAttribute(SOURCE, source);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        Duration remaining = RequestDeadline.remaining();
+        RequestDeadline.clear();
+        if (remaining != null) {
+            meterRegistry.counter("request.deadline",
+                            "source", (String) request.getAttribute(SOURCE),
+                            "outcome", remaining.isNegative() ? "exceeded" : "met")
+                    .increment();
+        }
+    }
+
+    private Duration parse(String value) {
+        try {
+            return DurationStyle.detectAndParse(value.trim(), ChronoUnit.MILLIS);
+        } catch (IllegalArgumentException e) {
+            throw new DeadlineException.InvalidBudget(header);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package dev.zbib.librarymanagement.deadline;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The point in time by which the current request must be answered. Set by
+ * {@link DeadlineInterceptor} on the request thread only, so background work such as cache
+ * refreshes, warm-up and streamed exports runs without one.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void start(Duration budget) {
+        DEADLINE.set(System.nanoTime() + budget.toNanos());
+    }
+
+    static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Runs a load whose result other requests share, such as a coalesced or cached load, under a
+     * deadline at least {@code budget} away, so that one caller's short deadline does not fail it
+     * for everyone waiting on it. Work without a deadline stays without one.
+     */
+    public static <T> T widen(Duration budget, Supplier<T> work) {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return work.get();
+        }
+        long widened = System.nanoTime() + budget.toNanos();
+        DEADLINE.set(deadline - widened > 0 ? deadline : widened);
+        try {
+            return work.get();
+        } finally {
+            DEADLINE.set(deadline);
+        }
+    }
+
+    /** Time left before the deadline, negative once it has passed, or null when there is none. */
+    public static Duration remaining() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? null : Duration.ofNanos(deadline - System.nanoTime());
+    }
+}
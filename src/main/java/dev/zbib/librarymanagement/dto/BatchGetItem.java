@@ -0,0 +1,27 @@
+package dev.zbib.librarymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One requested id of a batch get, in request order; {@code value} is absent when not found.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchGetItem<T> {
+    private UUID id;
+    private boolean found;
+    private T value;
+
+    public static <T> BatchGetItem<T> of(UUID id, T value) {
+        return new BatchGetItem<>(id, value != null, value);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.zbib.librarymanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    @NotEmpty(message = "Ids cannot be empty")
+    @Size(max = 500, message = "At most 500 ids per request")
+    private List<@NotNull(message = "Ids cannot contain null") UUID> ids;
+}
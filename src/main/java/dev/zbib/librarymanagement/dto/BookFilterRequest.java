@@ -1,6 +1,7 @@
 package dev.zbib.librarymanagement.dto;
 
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 
 @Getter
@@ -15,4 +16,13 @@ public class BookFilterRequest {
     @Min(value = 0, message = "Year must be positive")
     private int toYear;
 
-} 
\ No newline at end of file
+    @Size(max = 100, message = "Author name must not exceed 100 characters")
+    private String author;
+
+    @Size(max = 255, message = "Title prefix must not exceed 255 characters")
+    private String titlePrefix;
+
+    @Size(max = 20, message = "ISBN must not exceed 20 characters")
+    private String isbn;
+
+}
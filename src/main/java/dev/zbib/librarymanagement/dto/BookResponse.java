@@ -1,20 +1,43 @@
 package dev.zbib.librarymanagement.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
 @Builder
 @NoArgsConstructor
-@AllArgsConstructor
-public class BookResponse {
+public class BookResponse implements Versioned {
     private UUID id;
     private String title;
     private String author;
     private int publicationYear;
     private String isbn;
+
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant lastModified;
+
+    // Row constructor for BookBuilder.BOOK_RESPONSE, also used by the builder
+    public BookResponse(UUID id,
+                        String title,
+                        String author,
+                        int publicationYear,
+                        String ISBN,
+                        Long version,
+                        Instant updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.publicationYear = publicationYear;
+        this.isbn = ISBN;
+        this.version = version;
+        this.lastModified = updatedAt;
+    }
 }
@@ -0,0 +1,11 @@
+package dev.zbib.librarymanagement.dto;
+
+import java.util.UUID;
+
+public record BookSnapshot(
+        UUID id,
+        String title,
+        String author,
+        int publicationYear,
+        String isbn) {
+}
@@ -0,0 +1,22 @@
+package dev.zbib.librarymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestion {
+
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+
+    private String text;
+    private Type type;
+    private long borrows;
+}
@@ -38,4 +38,21 @@ public class BorrowingRecordResponse {
     private Double fineAmount;
     private String notes;
 
+    // Row constructor for BorrowingRecordBuilder.BORROWING_RECORD_RESPONSE
+    public BorrowingRecordResponse(UUID id,
+                                   UUID bookId,
+                                   String bookTitle,
+                                   String bookISBN,
+                                   UUID patronId,
+                                   String patronFirstName,
+                                   String patronLastName,
+                                   String patronEmail,
+                                   LocalDateTime borrowDate,
+                                   LocalDateTime dueDate,
+                                   LocalDateTime returnDate,
+                                   BorrowingStatus status,
+                                   String notes) {
+        this(id, bookId, bookTitle, bookISBN, patronId, patronFirstName + " " + patronLastName, patronEmail,
+                borrowDate, dueDate, returnDate, status, null, notes);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package dev.zbib.librarymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+    private long row;
+    private String message;
+}
@@ -0,0 +1,32 @@
+package dev.zbib.librarymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a streamed import: running totals after each chunk, each rejected row as it is
+ * found, and the final report.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEvent {
+
+    public enum Type {
+        PROGRESS,
+        ERROR,
+        DONE
+    }
+
+    private Type type;
+    private Long rows;
+    private Long imported;
+    private Long rejected;
+    private ImportError error;
+    private ImportReport report;
+}
@@ -0,0 +1,21 @@
+package dev.zbib.librarymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private long rows;
+    private long imported;
+    private long rejected;
+    private List<ImportError> errors;
+    private boolean errorsTruncated;
+    private long durationMillis;
+}
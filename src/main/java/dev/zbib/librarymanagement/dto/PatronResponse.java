@@ -1,19 +1,19 @@
 package dev.zbib.librarymanagement.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @Builder
 @NoArgsConstructor
-@AllArgsConstructor
-public class PatronResponse {
+public class PatronResponse implements Versioned {
     private UUID id;
     private String firstName;
     private String lastName;
@@ -24,5 +24,30 @@ public class PatronResponse {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime membershipExpiryDate;
 
+    @JsonIgnore
+    private Long version;
 
+    @JsonIgnore
+    private Instant lastModified;
+
+    // Row constructor for PatronBuilder.PATRON_RESPONSE, also used by the builder
+    public PatronResponse(UUID id,
+                          String firstName,
+                          String lastName,
+                          String email,
+                          String phoneNumber,
+                          String address,
+                          LocalDateTime membershipExpiryDate,
+                          Long version,
+                          Instant updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.address = address;
+        this.membershipExpiryDate = membershipExpiryDate;
+        this.version = version;
+        this.lastModified = updatedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package dev.zbib.librarymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean totalExact;
+}
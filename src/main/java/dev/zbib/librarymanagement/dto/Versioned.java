@@ -0,0 +1,13 @@
+package dev.zbib.librarymanagement.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface Versioned {
+
+    UUID getId();
+
+    Long getVersion();
+
+    Instant getLastModified();
+}
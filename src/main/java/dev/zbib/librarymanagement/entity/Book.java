@@ -2,21 +2,28 @@ package dev.zbib.librarymanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.UUID;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 @Table(name = "books", indexes = {
-        @Index(name = "idx_book_publication_year", columnList = "publicationYear"),
+        @Index(name = "idx_book_publication_year_id", columnList = "publication_year, id"),
         @Index(name = "idx_book_isbn", columnList = "isbn", unique = true),
-        @Index(name = "idx_book_title", columnList = "title"),
-        @Index(name = "idx_book_author", columnList = "author")})
+        @Index(name = "idx_book_title_id", columnList = "title, id"),
+        @Index(name = "idx_book_author_id", columnList = "author, id"),
+        @Index(name = "idx_book_author_year_id", columnList = "author, publication_year, id")})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -37,4 +44,13 @@ public class Book {
 
     @Column(name = "isbn", nullable = false, unique = true, length = 20)
     private String ISBN;
-}
\ No newline at end of file
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
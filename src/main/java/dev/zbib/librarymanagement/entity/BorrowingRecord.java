@@ -12,6 +12,8 @@ import java.util.UUID;
 @Table(name = "borrowing_records", indexes = {
     @Index(name = "idx_borrowing_status", columnList = "status"),
     @Index(name = "idx_borrowing_dates", columnList = "borrow_date, due_date, return_date"),
+    @Index(name = "idx_borrowing_borrow_date_id", columnList = "borrow_date, id"),
+    @Index(name = "idx_borrowing_due_date_id", columnList = "due_date, id"),
     @Index(name = "idx_borrowing_overdue", columnList = "is_overdue"),
     @Index(name = "idx_borrowing_book", columnList = "book_id"),
     @Index(name = "idx_borrowing_patron", columnList = "patron_id")
@@ -2,16 +2,24 @@ package dev.zbib.librarymanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patrons")
 @Table(name = "patrons", indexes = {
-        @Index(name = "idx_patron_email", columnList = "email"),
+        @Index(name = "idx_patron_email", columnList = "email", unique = true),
+        @Index(name = "idx_patron_email_id", columnList = "email, id"),
+        @Index(name = "idx_patron_last_name_id", columnList = "last_name, id"),
         @Index(name = "idx_patron_name", columnList = "first_name, last_name"),
         @Index(name = "idx_patron_membership", columnList = "membership_expiry_date")
 })
@@ -44,4 +52,13 @@ public class Patron {
     @Column(name = "membership_expiry_date")
     private LocalDateTime membershipExpiryDate;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package dev.zbib.librarymanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class CacheException {
+
+    public static class LoadTimeout extends AppException {
+        public LoadTimeout() {
+            super("Timed out waiting for a concurrent load",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package dev.zbib.librarymanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DeadlineException {
+
+    public static class InvalidBudget extends AppException {
+        public InvalidBudget(String header) {
+            super(header + " must be a positive duration such as 2500, 2500ms or 3s",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+}
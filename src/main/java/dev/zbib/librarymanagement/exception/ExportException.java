@@ -0,0 +1,20 @@
+package dev.zbib.librarymanagement.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+public class ExportException {
+
+    @Getter
+    public static class TooManyExports extends AppException {
+        private final Duration retryAfter;
+
+        public TooManyExports(Duration retryAfter) {
+            super("Too many exports are running, retry later",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+            this.retryAfter = retryAfter;
+        }
+    }
+}
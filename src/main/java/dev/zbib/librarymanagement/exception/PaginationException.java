@@ -0,0 +1,20 @@
+package dev.zbib.librarymanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PaginationException {
+
+    public static class InvalidCursor extends AppException {
+        public InvalidCursor() {
+            super("Invalid or expired cursor",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static class UnsupportedSort extends AppException {
+        public UnsupportedSort(String property) {
+            super("Sorting by '" + property + "' is not supported here",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dev.zbib.librarymanagement.pagination;
+
+/**
+ * How the total of an offset page is obtained.
+ */
+public enum CountMode {
+    /** {@code COUNT(*)} on every request. */
+    EXACT,
+    /** {@code COUNT(*)} reused for a short time per filter. */
+    CACHED,
+    /** Planner row estimate for unfiltered listings, cached count otherwise. */
+    ESTIMATED,
+    /** No total, only whether a next page exists. */
+    NONE
+}
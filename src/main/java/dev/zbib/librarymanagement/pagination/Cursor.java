@@ -0,0 +1,12 @@
+package dev.zbib.librarymanagement.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+
+/**
+ * Position after the last row of a page: the sort it was read with, that row's value
+ * for the sort property and its id, which breaks ties between equal values.
+ */
+public record Cursor(String property, Sort.Direction direction, Object value, UUID id) {
+}
@@ -0,0 +1,121 @@
+package dev.zbib.librarymanagement.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.exception.PaginationException;
+import dev.zbib.librarymanagement.specification.KeysetSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Seek pagination over a specification executor. Each page is read as
+ * {@code WHERE (property, id) > (last value, last id) ORDER BY property, id LIMIT size + 1},
+ * so its cost does not depend on how deep the client has scrolled and no count query is run.
+ * The position is handed back to the client as an opaque base64url token.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+
+    public <T, R> CursorPage<R> scroll(JpaSpecificationExecutor<T> repository,
+                                       Class<T> entityType,
+                                       Specification<T> filter,
+                                       ScrollRequest request,
+                                       KeysetSort keyset,
+                                       Function<T, R> mapper,
+                                       String... fetch) {
+        Cursor cursor = request.cursor() == null || request.cursor().isBlank() ? null : decode(request.cursor());
+        Sort.Order order = cursor != null
+                ? new Sort.Order(cursor.direction(), cursor.property())
+                : resolveOrder(request.sort(), keyset);
+        if (!keyset.properties().contains(order.getProperty())) {
+            throw new PaginationException.UnsupportedSort(order.getProperty());
+        }
+
+        Specification<T> spec = Specification.where(filter);
+        if (cursor != null) {
+            spec = spec.and(KeysetSpecification.after(cursor, cursorValue(entityType, cursor)));
+        }
+        Sort sort = Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+        List<T> rows = repository.findBy(spec, query -> {
+            var limited = query.sortBy(sort).limit(request.size() + 1);
+            return (fetch.length > 0 ? limited.project(fetch) : limited).all();
+        });
+
+        boolean hasNext = rows.size() > request.size();
+        List<T> content = hasNext ? rows.subList(0, request.size()) : rows;
+        String nextCursor = hasNext ? encode(order, content.get(content.size() - 1)) : null;
+        return CursorPage.<R>builder()
+                .content(content.stream().map(mapper).toList())
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static Sort.Order resolveOrder(Sort sort, KeysetSort keyset) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return keyset.defaultOrder();
+        }
+        if (orders.size() > 1) {
+            throw new PaginationException.UnsupportedSort(sort.toString());
+        }
+        return orders.get(0);
+    }
+
+    private String encode(Sort.Order order, Object row) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+        Cursor cursor = new Cursor(order.getProperty(),
+                order.getDirection(),
+                wrapper.getPropertyValue(order.getProperty()),
+                (UUID) wrapper.getPropertyValue("id"));
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    private Cursor decode(String token) {
+        try {
+            Cursor cursor = objectMapper.readValue(DECODER.decode(token), Cursor.class);
+            if (cursor.property() == null || cursor.direction() == null || cursor.value() == null || cursor.id() == null) {
+                throw new PaginationException.InvalidCursor();
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new PaginationException.InvalidCursor();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Comparable cursorValue(Class<?> entityType, Cursor cursor) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityType, cursor.property());
+        if (descriptor == null) {
+            throw new PaginationException.UnsupportedSort(cursor.property());
+        }
+        try {
+            return (Comparable) objectMapper.convertValue(cursor.value(), descriptor.getPropertyType());
+        } catch (IllegalArgumentException | ClassCastException e) {
+            throw new PaginationException.InvalidCursor();
+        }
+    }
+}
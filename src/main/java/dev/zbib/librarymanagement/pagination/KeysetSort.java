@@ -0,0 +1,16 @@
+package dev.zbib.librarymanagement.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Sorts a keyset endpoint accepts. Every property must be non-null and backed by
+ * an index on (property, id) so that a page is an index range scan.
+ */
+public record KeysetSort(Sort.Order defaultOrder, Set<String> properties) {
+
+    public static KeysetSort of(Sort.Order defaultOrder, String... properties) {
+        return new KeysetSort(defaultOrder, Set.of(properties));
+    }
+}
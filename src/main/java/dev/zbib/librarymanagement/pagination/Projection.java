@@ -0,0 +1,87 @@
+package dev.zbib.librarymanagement.pagination;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entity properties selected, in order, into a constructor of {@code type}, so that a list query
+ * builds its response objects straight from the rows instead of through managed entities.
+ * A property may be a dotted path through a to-one association, which the query reads through a join.
+ * The constructor is checked when the projection is declared rather than on the first query.
+ */
+public record Projection<T, R>(Class<T> entityType, Class<R> type, List<String> properties) {
+
+    public static <T, R> Projection<T, R> of(Class<T> entityType, Class<R> type, String... properties) {
+        Class<?>[] propertyTypes = Arrays.stream(properties)
+                .map(property -> propertyType(entityType, property))
+                .toArray(Class<?>[]::new);
+        boolean constructible = Arrays.stream(type.getConstructors())
+                .anyMatch(constructor -> accepts(constructor, propertyTypes));
+        if (!constructible) {
+            throw new IllegalArgumentException("No constructor of " + type.getSimpleName()
+                    + " takes " + entityType.getSimpleName() + " properties " + Arrays.toString(properties));
+        }
+        return new Projection<>(entityType, type, List.of(properties));
+    }
+
+    public CriteriaQuery<R> query(CriteriaBuilder cb, Specification<T> filter, Sort sort) {
+        CriteriaQuery<R> query = cb.createQuery(type);
+        Root<T> root = query.from(entityType);
+        query.select(cb.construct(type, properties.stream()
+                .map(property -> path(root, property))
+                .toArray(Selection<?>[]::new)));
+        Predicate predicate = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+
+    private static Path<?> path(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String segment : property.split("\\.")) {
+            path = path.get(segment);
+        }
+        return path;
+    }
+
+    private static Class<?> propertyType(Class<?> entityType, String property) {
+        Class<?> type = entityType;
+        for (String segment : property.split("\\.")) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, segment);
+            if (descriptor == null) {
+                throw new IllegalArgumentException(entityType.getSimpleName() + " has no property " + property);
+            }
+            type = descriptor.getPropertyType();
+        }
+        return type;
+    }
+
+    private static boolean accepts(Constructor<?> constructor, Class<?>[] argumentTypes) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        if (parameterTypes.length != argumentTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!ClassUtils.isAssignable(parameterTypes[i], argumentTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
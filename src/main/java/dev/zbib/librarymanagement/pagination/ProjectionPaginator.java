@@ -0,0 +1,43 @@
+package dev.zbib.librarymanagement.pagination;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Offset pages read as DTOs: the query selects only the projected columns and Hibernate
+ * constructs the response objects from each row. Nothing enters the persistence context,
+ * so there are no entity snapshots to keep or dirty-check and no second copy into a DTO.
+ * Like {@link JpaSpecificationExecutor#findAll(Specification, Pageable)}, the count is skipped
+ * when the page itself shows the total.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectionPaginator {
+
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public <T, R> Page<R> page(JpaSpecificationExecutor<T> repository,
+                               Projection<T, R> projection,
+                               Specification<T> filter,
+                               Pageable pageable) {
+        TypedQuery<R> query = entityManager.createQuery(
+                projection.query(entityManager.getCriteriaBuilder(), filter, pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<R> content = query.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> repository.count(filter));
+    }
+}
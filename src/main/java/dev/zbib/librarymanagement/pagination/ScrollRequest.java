@@ -0,0 +1,13 @@
+package dev.zbib.librarymanagement.pagination;
+
+import org.springframework.data.domain.Sort;
+
+public record ScrollRequest(String cursor, Sort sort, int size) {
+
+    public static final int MAX_SIZE = 100;
+
+    public ScrollRequest {
+        size = Math.min(Math.max(size, 1), MAX_SIZE);
+        sort = sort == null ? Sort.unsorted() : sort;
+    }
+}
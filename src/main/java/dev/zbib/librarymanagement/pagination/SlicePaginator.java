@@ -0,0 +1,123 @@
+package dev.zbib.librarymanagement.pagination;
+
+import dev.zbib.librarymanagement.cache.PageQueryKey;
+import dev.zbib.librarymanagement.dto.SliceResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Offset pages without the mandatory {@code COUNT(*)} of {@link org.springframework.data.domain.Page}.
+ * One extra row is read to tell whether a next page exists; the total is then exact, cached,
+ * estimated from {@code pg_class.reltuples} or left out, depending on the {@link CountMode}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlicePaginator {
+
+    public static final String COUNT_CACHE = "page-counts";
+
+    private static final String ESTIMATE_SQL = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?1)";
+
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+
+    public <T, R> SliceResponse<R> slice(JpaSpecificationExecutor<T> repository,
+                                         Class<T> entityType,
+                                         Specification<T> filter,
+                                         PageQueryKey countKey,
+                                         Pageable pageable,
+                                         CountMode count,
+                                         Function<T, R> mapper,
+                                         String... fetch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+        for (String path : fetch) {
+            root.fetch(path);
+        }
+        Predicate predicate = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<T> rows = typedQuery.getResultList();
+
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        SliceResponse<R> response = SliceResponse.<R>builder()
+                .content(content.stream().map(mapper).toList())
+                .page(pageable.isPaged() ? pageable.getPageNumber() : 0)
+                .size(content.size())
+                .hasNext(hasNext)
+                .build();
+        if (count == CountMode.NONE) {
+            return response;
+        }
+
+        // A short page that is not past the end already tells the exact total
+        if (!hasNext && (!content.isEmpty() || offset == 0)) {
+            return withTotal(response, pageable, offset + content.size(), true);
+        }
+        long lowerBound = offset + content.size() + (hasNext ? 1 : 0);
+        return switch (count) {
+            case EXACT -> withTotal(response, pageable, repository.count(filter), true);
+            case CACHED -> withTotal(response, pageable, Math.max(lowerBound, cachedCount(repository, filter, countKey)), false);
+            case ESTIMATED -> {
+                long estimate = predicate == null ? estimatedCount(entityType) : -1;
+                long total = estimate >= 0 ? estimate : cachedCount(repository, filter, countKey);
+                yield withTotal(response, pageable, Math.max(lowerBound, total), false);
+            }
+            case NONE -> response;
+        };
+    }
+
+    private <T> long cachedCount(JpaSpecificationExecutor<T> repository, Specification<T> filter, PageQueryKey countKey) {
+        Cache cache = cacheManager.getCache(COUNT_CACHE);
+        if (cache == null) {
+            return repository.count(filter);
+        }
+        Long total = cache.get(countKey, () -> repository.count(filter));
+        return total == null ? 0 : total;
+    }
+
+    // reltuples is -1 until the table has been vacuumed or analyzed once
+    private long estimatedCount(Class<?> entityType) {
+        Table table = entityType.getAnnotation(Table.class);
+        if (table == null) {
+            return -1;
+        }
+        Object estimate = entityManager.createNativeQuery(ESTIMATE_SQL)
+                .setParameter(1, table.name())
+                .getSingleResult();
+        return estimate instanceof Number number ? number.longValue() : -1;
+    }
+
+    private static <R> SliceResponse<R> withTotal(SliceResponse<R> response, Pageable pageable, long total, boolean exact) {
+        response.setTotalElements(total);
+        response.setTotalPages(pageable.isPaged() ? (int) Math.ceil((double) total / pageable.getPageSize()) : 1);
+        response.setTotalExact(exact);
+        return response;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.zbib.librarymanagement.pagination;
+
+import dev.zbib.librarymanagement.exception.PaginationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorts an offset-paged endpoint accepts. Each allowed sort is the column list of an index that
+ * ends in id, all in one direction, so a page is read in index order (backwards for descending)
+ * instead of sorting every matching row. Unsorted requests get the default order, id is appended
+ * as the tiebreaker so rows with equal keys keep their place between pages, and anything else is
+ * rejected.
+ */
+public record SortPolicy(Sort.Order defaultOrder, List<List<String>> indexes) {
+
+    private static final String ID = "id";
+
+    /** Each argument lists the properties of one (..., id) index, e.g. {@code "author", "publicationYear"}. */
+    @SafeVarargs
+    public static SortPolicy of(Sort.Order defaultOrder, List<String>... indexes) {
+        return new SortPolicy(defaultOrder, List.of(indexes));
+    }
+
+    public Pageable apply(Pageable pageable) {
+        Sort requested = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(defaultOrder);
+        Sort.Direction direction = requested.iterator().next().getDirection();
+        List<String> properties = new ArrayList<>();
+        for (Sort.Order order : requested) {
+            if (order.getDirection() != direction || order.isIgnoreCase()) {
+                throw new PaginationException.UnsupportedSort(requested.toString());
+            }
+            properties.add(order.getProperty());
+        }
+        if (properties.get(properties.size() - 1).equals(ID)) {
+            properties.remove(properties.size() - 1);
+        }
+        if (!properties.isEmpty() && !indexes.contains(properties)) {
+            throw new PaginationException.UnsupportedSort(requested.toString());
+        }
+        properties.add(ID);
+        Sort sort = Sort.by(direction, properties.toArray(String[]::new));
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.zbib.librarymanagement.repository;
+
+import dev.zbib.librarymanagement.entity.Book;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface BookImportRepository {
+
+    /**
+     * Inserts books with preassigned ids in one statement, skipping any whose ISBN is already in the
+     * catalog or earlier in the list. Returns the ids that were inserted.
+     */
+    Set<UUID> insertSkippingDuplicateIsbns(List<Book> books);
+}
@@ -0,0 +1,72 @@
+package dev.zbib.librarymanagement.repository;
+
+import dev.zbib.librarymanagement.entity.Book;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streams the rows into a session-local staging table with {@code COPY}, then moves them into
+ * {@code books} with a single {@code INSERT ... ON CONFLICT (isbn) DO NOTHING}, so a chunk costs
+ * two round trips whatever its size and the unique ISBN index does the deduplication.
+ */
+@RequiredArgsConstructor
+public class BookImportRepositoryImpl implements BookImportRepository {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS book_import (
+                position int, id uuid, title text, author text, publication_year int, isbn text
+            ) ON COMMIT DELETE ROWS""";
+    private static final String COPY_STAGING =
+            "COPY book_import (position, id, title, author, publication_year, isbn) FROM STDIN (FORMAT csv)";
+    private static final String INSERT_BOOKS = """
+            INSERT INTO books (id, title, author, publication_year, isbn, version, updated_at)
+            SELECT id, title, author, publication_year, isbn, 0, now() FROM book_import ORDER BY position
+            ON CONFLICT (isbn) DO NOTHING
+            RETURNING id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Set<UUID> insertSkippingDuplicateIsbns(List<Book> books) {
+        StringBuilder rows = new StringBuilder(books.size() * 96);
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            rows.append(i).append(',')
+                    .append(book.getId()).append(',');
+            appendQuoted(rows, book.getTitle()).append(',');
+            appendQuoted(rows, book.getAuthor()).append(',')
+                    .append(book.getPublicationYear()).append(',');
+            appendQuoted(rows, book.getISBN()).append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_STAGING, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return new HashSet<>(jdbcTemplate.queryForList(INSERT_BOOKS, UUID.class));
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder rows, String value) {
+        return rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
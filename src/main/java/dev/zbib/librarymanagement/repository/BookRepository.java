@@ -1,10 +1,24 @@
 package dev.zbib.librarymanagement.repository;
 
 import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.search.BookDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book>, BookImportRepository {
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new dev.zbib.librarymanagement.search.BookDocument(b.id, b.title, b.author) FROM Book b")
+    Stream<BookDocument> streamSearchDocuments();
+
+    @Query("SELECT new dev.zbib.librarymanagement.search.BookDocument(b.id, b.title, b.author) FROM Book b WHERE b.id = :id")
+    Optional<BookDocument> findSearchDocumentById(UUID id);
 }
@@ -2,6 +2,7 @@ package dev.zbib.librarymanagement.repository;
 
 import dev.zbib.librarymanagement.entity.BorrowingRecord;
 import dev.zbib.librarymanagement.entity.BorrowingStatus;
+import dev.zbib.librarymanagement.search.BookPopularity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -21,4 +22,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
     long countOverdueBooksByPatron(UUID patronId);
     
     boolean existsByBookIdAndStatus(UUID bookId, BorrowingStatus status);
+
+    @Query("SELECT new dev.zbib.librarymanagement.search.BookPopularity(br.book.id, COUNT(br)) FROM BorrowingRecord br GROUP BY br.book.id")
+    List<BookPopularity> countBorrowsByBook();
 }
@@ -0,0 +1,17 @@
+package dev.zbib.librarymanagement.repository;
+
+import dev.zbib.librarymanagement.entity.Patron;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface PatronImportRepository {
+
+    /**
+     * Inserts patrons with preassigned ids in one statement, skipping any whose email already
+     * belongs to a patron. The list itself must not repeat an email. Returns the ids that were
+     * inserted.
+     */
+    Set<UUID> insertSkippingExistingEmails(List<Patron> patrons);
+}
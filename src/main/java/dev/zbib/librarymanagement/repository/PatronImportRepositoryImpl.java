@@ -0,0 +1,84 @@
+package dev.zbib.librarymanagement.repository;
+
+import dev.zbib.librarymanagement.entity.Patron;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Same staging approach as {@link BookImportRepositoryImpl}: the unique email index decides
+ * conflicts, so a patron created concurrently with the import is skipped rather than duplicated.
+ */
+@RequiredArgsConstructor
+public class PatronImportRepositoryImpl implements PatronImportRepository {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS patron_import (
+                position int, id uuid, first_name text, last_name text, email text,
+                phone_number text, address text, membership_expiry_date timestamp
+            ) ON COMMIT DELETE ROWS""";
+    private static final String COPY_STAGING = """
+            COPY patron_import (position, id, first_name, last_name, email, phone_number, address, membership_expiry_date)
+            FROM STDIN (FORMAT csv)""";
+    private static final String INSERT_PATRONS = """
+            INSERT INTO patrons (id, first_name, last_name, email, phone_number, address, membership_expiry_date, version, updated_at)
+            SELECT id, first_name, last_name, email, phone_number, address, membership_expiry_date, 0, now()
+            FROM patron_import
+            ORDER BY position
+            ON CONFLICT (email) DO NOTHING
+            RETURNING id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Set<UUID> insertSkippingExistingEmails(List<Patron> patrons) {
+        StringBuilder rows = new StringBuilder(patrons.size() * 128);
+        for (int i = 0; i < patrons.size(); i++) {
+            Patron patron = patrons.get(i);
+            rows.append(i).append(',')
+                    .append(patron.getId()).append(',');
+            appendQuoted(rows, patron.getFirstName()).append(',');
+            appendQuoted(rows, patron.getLastName()).append(',');
+            appendQuoted(rows, patron.getEmail()).append(',');
+            appendQuoted(rows, patron.getPhoneNumber()).append(',');
+            appendQuoted(rows, patron.getAddress()).append(',');
+            // Unquoted empty fields are NULL in CSV COPY
+            if (patron.getMembershipExpiryDate() != null) {
+                rows.append(patron.getMembershipExpiryDate());
+            }
+            rows.append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_STAGING, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return new HashSet<>(jdbcTemplate.queryForList(INSERT_PATRONS, UUID.class));
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder rows, String value) {
+        if (value == null) {
+            return rows;
+        }
+        return rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -2,8 +2,9 @@ package dev.zbib.librarymanagement.repository;
 
 import dev.zbib.librarymanagement.entity.Patron;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.UUID;
 
-public interface PatronRepository extends JpaRepository<Patron, UUID> {
+public interface PatronRepository extends JpaRepository<Patron, UUID>, JpaSpecificationExecutor<Patron>, PatronImportRepository {
 }
@@ -0,0 +1,9 @@
+package dev.zbib.librarymanagement.search;
+
+import java.util.UUID;
+
+/**
+ * The searchable fields of a book, read without loading the entity.
+ */
+public record BookDocument(UUID id, String title, String author) {
+}
@@ -0,0 +1,22 @@
+package dev.zbib.librarymanagement.search;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked search over book titles and authors. {@code app.search.mode} picks the implementation:
+ * {@code memory} keeps an inverted index in the JVM, {@code database} queries Postgres full-text
+ * and trigram indexes for catalogs too large to hold in memory.
+ */
+public interface BookSearch {
+
+    void rebuild();
+
+    void index(UUID id, String title, String author);
+
+    void remove(UUID id);
+
+    void reindex(UUID id);
+
+    List<SearchHit> search(String query, int limit);
+}
@@ -0,0 +1,229 @@
+package dev.zbib.librarymanagement.search;
+
+import dev.zbib.librarymanagement.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over book titles and authors, ranked with BM25.
+ * Title terms count twice as much as author terms. The index is loaded once the application
+ * is up, kept current by {@code BookService} writes, and refreshed from the database for
+ * writes made on other replicas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "memory", matchIfMissing = true)
+public class BookSearchIndex implements BookSearch {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int AUTHOR_WEIGHT = 1;
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score)
+            .reversed()
+            .thenComparing(SearchHit::id);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Ids written while a rebuild streams the table; they are re-read once the new index is swapped in
+    private Set<UUID> touchedDuringRebuild;
+
+    public BookSearchIndex(BookRepository bookRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        meterRegistry.gauge("search.index.documents", this, BookSearchIndex::size);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index fresh = new Index();
+        boolean loaded = false;
+        Set<UUID> touched;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BookDocument> documents = bookRepository.streamSearchDocuments()) {
+                    documents.forEach(fresh::add);
+                }
+            });
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the book search index, keeping the current one", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                touched = touchedDuringRebuild;
+                touchedDuringRebuild = null;
+                if (loaded) {
+                    index = fresh;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (loaded) {
+            touched.forEach(this::reindex);
+            log.info("Book search index built with {} books in {} ms",
+                    fresh.documents.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public void index(UUID id, String title, String author) {
+        BookDocument document = new BookDocument(id, title, author);
+        lock.writeLock().lock();
+        try {
+            index.add(document);
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-reads one book, for writes this node only hears about
+    @Override
+    public void reindex(UUID id) {
+        bookRepository.findSearchDocumentById(id)
+                .ifPresentOrElse(document -> index(document.id(), document.title(), document.author()),
+                        () -> remove(id));
+    }
+
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Document(Map<String, Integer> termFrequencies, int length) {
+    }
+
+    private static final class Index {
+
+        private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+        private final Map<UUID, Document> documents = new HashMap<>();
+        private long totalLength;
+
+        void add(BookDocument book) {
+            remove(book.id());
+            Map<String, Integer> frequencies = new HashMap<>();
+            Tokenizer.tokenize(book.title()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+            Tokenizer.tokenize(book.author()).forEach(term -> frequencies.merge(term, AUTHOR_WEIGHT, Integer::sum));
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            documents.put(book.id(), new Document(frequencies, length));
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, ignored -> new HashMap<>())
+                    .put(book.id(), frequency));
+            totalLength += length;
+        }
+
+        void remove(UUID id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.termFrequencies().keySet()) {
+                Map<UUID, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= document.length();
+        }
+
+        List<SearchHit> search(Set<String> terms, int limit) {
+            int count = documents.size();
+            if (count == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / count;
+            Map<UUID, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<UUID, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (count - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, frequency) -> {
+                    double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            // Min-heap of the best hits so far, so ranking costs O(matches * log limit)
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            scores.forEach((id, score) -> {
+                best.add(new SearchHit(id, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            });
+            List<SearchHit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package dev.zbib.librarymanagement.search;
+
+import dev.zbib.librarymanagement.dto.BookSuggestion;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.repository.BorrowingRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead over book titles and authors. Every title and author is stored in a radix tree
+ * under its full normalized text and under each suffix that starts a word, so "gats" finds
+ * "The Great Gatsby". Each node remembers the highest borrow count below it, which lets a lookup
+ * walk the subtree best-first and stop after the requested number of suggestions.
+ * <p>
+ * Writes on this node are applied as they happen. Borrows and writes on other replicas are
+ * picked up by the periodic rebuild.
+ */
+@Slf4j
+@Component
+public class BookSuggester {
+
+    private static final int MAX_SUFFIX_WORDS = 8;
+
+    private final BookRepository bookRepository;
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong footprintBytes = new AtomicLong();
+    private final AtomicLong nodeCount = new AtomicLong();
+    private Trie trie = new Trie();
+    // Ids written or borrowed while a rebuild reads the tables; they are re-read after the swap
+    private Set<UUID> touchedDuringRebuild;
+
+    public BookSuggester(BookRepository bookRepository,
+                         BorrowingRecordRepository borrowingRecordRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.borrowingRecordRepository = borrowingRecordRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        meterRegistry.gauge("suggest.index.bytes", footprintBytes);
+        meterRegistry.gauge("suggest.index.nodes", nodeCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.suggest.rebuild-interval:10m}",
+            fixedDelayString = "${app.search.suggest.rebuild-interval:10m}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Trie fresh = new Trie();
+        boolean loaded = false;
+        Set<UUID> touched;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                borrowingRecordRepository.countBorrowsByBook()
+                        .forEach(popularity -> fresh.borrows.put(popularity.bookId(), popularity.borrows()));
+                try (Stream<BookDocument> documents = bookRepository.streamSearchDocuments()) {
+                    documents.forEach(fresh::add);
+                }
+            });
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the book suggestion index, keeping the current one", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                touched = touchedDuringRebuild;
+                touchedDuringRebuild = null;
+                if (loaded) {
+                    trie = fresh;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (!loaded) {
+            return;
+        }
+        touched.forEach(this::reindex);
+        Footprint footprint = footprint();
+        log.info("Book suggestion index built with {} entries, {} trie nodes, ~{} KiB in {} ms",
+                footprint.entries(),
+                footprint.nodes(),
+                footprint.bytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void index(UUID id, String title, String author) {
+        write(id, trie -> trie.add(new BookDocument(id, title, author)));
+    }
+
+    public void remove(UUID id) {
+        write(id, trie -> trie.remove(id));
+    }
+
+    public void recordBorrow(UUID bookId) {
+        write(bookId, trie -> trie.recordBorrow(bookId));
+    }
+
+    // Re-reads one book, for writes this node only hears about
+    public void reindex(UUID id) {
+        bookRepository.findSearchDocumentById(id)
+                .ifPresentOrElse(document -> index(document.id(), document.title(), document.author()),
+                        () -> remove(id));
+    }
+
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        List<String> words = Tokenizer.words(prefix);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.suggest(String.join(" ", words), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimated retained heap of the trie and its entries, assuming a 64-bit JVM with compressed
+     * references. Measured after every rebuild and exported as {@code suggest.index.bytes}.
+     */
+    public Footprint footprint() {
+        Footprint footprint;
+        lock.readLock().lock();
+        try {
+            footprint = trie.footprint();
+        } finally {
+            lock.readLock().unlock();
+        }
+        footprintBytes.set(footprint.bytes());
+        nodeCount.set(footprint.nodes());
+        return footprint;
+    }
+
+    private void write(UUID id, Consumer<Trie> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(trie);
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public record Footprint(long nodes, long entries, long bytes) {
+    }
+
+    private record Key(BookSuggestion.Type type, String text) {
+    }
+
+    private static final class Entry {
+        private final BookSuggestion.Type type;
+        private final String text;
+        private final List<String> trieKeys;
+        private final Set<UUID> books = new HashSet<>();
+        private long weight;
+
+        Entry(BookSuggestion.Type type, String text, List<String> trieKeys) {
+            this.type = type;
+            this.text = text;
+            this.trieKeys = trieKeys;
+        }
+    }
+
+    // Radix tree node: the edge from the parent carries a whole run of characters, so a unique
+    // tail such as the rest of a long title costs one node instead of one node per character
+    private static final class Node {
+        private static final char[] NO_FIRSTS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private String label;
+        // Children sorted by the first character of their label
+        private char[] firsts = NO_FIRSTS;
+        private Node[] children = NO_CHILDREN;
+        private Entry[] entries = NO_ENTRIES;
+        private long best = -1;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            char first = child.label.charAt(0);
+            int index = -Arrays.binarySearch(firsts, first) - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index, newFirsts, index + 1, firsts.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newFirsts[index] = first;
+            newChildren[index] = child;
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        void replaceChild(Node child) {
+            children[Arrays.binarySearch(firsts, child.label.charAt(0))] = child;
+        }
+
+        void removeChild(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            char[] newFirsts = firsts.length == 1 ? NO_FIRSTS : new char[firsts.length - 1];
+            Node[] newChildren = children.length == 1 ? NO_CHILDREN : new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        // Folds a single child into this node once nothing else needs the branching point
+        void mergeWithOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            firsts = child.firsts;
+            children = child.children;
+            entries = child.entries;
+        }
+
+        void addEntry(Entry entry) {
+            entries = Arrays.copyOf(entries, entries.length + 1);
+            entries[entries.length - 1] = entry;
+        }
+
+        void removeEntry(Entry entry) {
+            Entry[] remaining = Arrays.stream(entries).filter(candidate -> candidate != entry).toArray(Entry[]::new);
+            entries = remaining.length == 0 ? NO_ENTRIES : remaining;
+        }
+
+        void recompute() {
+            long max = -1;
+            for (Entry entry : entries) {
+                max = Math.max(max, entry.weight);
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.best);
+            }
+            best = max;
+        }
+    }
+
+    // A node or entry waiting in the best-first walk. Every key below a node sorts after the node's
+    // own key, so popping by (weight, key) yields equally popular suggestions in alphabetical order.
+    private record Candidate(long weight, String key, Entry entry, Node node) {
+
+        static final Comparator<Candidate> BEST_FIRST = Comparator.comparingLong(Candidate::weight)
+                .reversed()
+                .thenComparing(Candidate::key)
+                .thenComparing(candidate -> candidate.entry() == null);
+    }
+
+    private static final class Trie {
+
+        private final Node root = new Node("");
+        private final Map<UUID, BookDocument> books = new HashMap<>();
+        private final Map<UUID, Long> borrows = new HashMap<>();
+        private final Map<Key, Entry> entries = new HashMap<>();
+
+        void add(BookDocument book) {
+            remove(book.id());
+            books.put(book.id(), book);
+            attach(BookSuggestion.Type.TITLE, book.title(), book.id());
+            attach(BookSuggestion.Type.AUTHOR, book.author(), book.id());
+        }
+
+        void remove(UUID id) {
+            BookDocument book = books.remove(id);
+            if (book != null) {
+                detach(BookSuggestion.Type.TITLE, book.title(), id);
+                detach(BookSuggestion.Type.AUTHOR, book.author(), id);
+            }
+        }
+
+        void recordBorrow(UUID id) {
+            borrows.merge(id, 1L, Long::sum);
+            BookDocument book = books.get(id);
+            if (book != null) {
+                reweigh(entries.get(key(BookSuggestion.Type.TITLE, book.title())));
+                reweigh(entries.get(key(BookSuggestion.Type.AUTHOR, book.author())));
+            }
+        }
+
+        List<BookSuggestion> suggest(String prefix, int limit) {
+            Node node = root;
+            StringBuilder key = new StringBuilder();
+            int matched = 0;
+            // The prefix may end in the middle of an edge; that edge's node still covers every match
+            while (matched < prefix.length()) {
+                Node child = node.child(prefix.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, prefix, matched);
+                if (common < child.label.length() && matched + common < prefix.length()) {
+                    return List.of();
+                }
+                key.append(child.label);
+                matched += child.label.length();
+                node = child;
+            }
+
+            List<BookSuggestion> suggestions = new ArrayList<>(limit);
+            Set<Entry> seen = new HashSet<>();
+            PriorityQueue<Candidate> frontier = new PriorityQueue<>(Candidate.BEST_FIRST);
+            frontier.add(new Candidate(node.best, key.toString(), null, node));
+            while (!frontier.isEmpty() && suggestions.size() < limit) {
+                Candidate next = frontier.poll();
+                if (next.entry() != null) {
+                    if (seen.add(next.entry())) {
+                        suggestions.add(BookSuggestion.builder()
+                                .text(next.entry().text)
+                                .type(next.entry().type)
+                                .borrows(next.entry().weight)
+                                .build());
+                    }
+                    continue;
+                }
+                for (Entry entry : next.node().entries) {
+                    frontier.add(new Candidate(entry.weight, next.key(), entry, null));
+                }
+                for (Node child : next.node().children) {
+                    frontier.add(new Candidate(child.best, next.key() + child.label, null, child));
+                }
+            }
+            return suggestions;
+        }
+
+        Footprint footprint() {
+            long nodes = 0;
+            long bytes = 0;
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                nodes++;
+                bytes += align(12 + 4 * 4 + 8) + string(node.label);
+                bytes += node.firsts.length == 0 ? 0 : align(16 + 2L * node.firsts.length);
+                bytes += node.children.length == 0 ? 0 : align(16 + 4L * node.children.length);
+                bytes += node.entries.length == 0 ? 0 : align(16 + 4L * node.entries.length);
+                for (Node child : node.children) {
+                    pending.push(child);
+                }
+            }
+            for (Entry entry : entries.values()) {
+                bytes += align(12 + 4 * 4 + 8) + string(entry.text) + 48;
+                for (String key : entry.trieKeys) {
+                    bytes += string(key);
+                }
+                bytes += align(16 + 4L * entry.trieKeys.size()) + 48L * entry.books.size() + 64;
+            }
+            bytes += 80L * books.size() + 56L * borrows.size();
+            return new Footprint(nodes, entries.size(), bytes);
+        }
+
+        private void attach(BookSuggestion.Type type, String text, UUID id) {
+            List<String> words = Tokenizer.words(text);
+            if (words.isEmpty()) {
+                return;
+            }
+            Key key = new Key(type, String.join(" ", words));
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(type, text.strip(), suffixes(words));
+                entries.put(key, entry);
+                for (String trieKey : entry.trieKeys) {
+                    insert(trieKey, entry);
+                }
+            }
+            entry.books.add(id);
+            reweigh(entry);
+        }
+
+        private void detach(BookSuggestion.Type type, String text, UUID id) {
+            Key key = key(type, text);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return;
+            }
+            entry.books.remove(id);
+            if (!entry.books.isEmpty()) {
+                reweigh(entry);
+                return;
+            }
+            entries.remove(key);
+            for (String trieKey : entry.trieKeys) {
+                delete(trieKey, entry);
+            }
+        }
+
+        private void reweigh(Entry entry) {
+            if (entry == null) {
+                return;
+            }
+            long weight = 0;
+            for (UUID book : entry.books) {
+                weight += borrows.getOrDefault(book, 0L);
+            }
+            entry.weight = weight;
+            for (String trieKey : entry.trieKeys) {
+                List<Node> path = path(trieKey);
+                if (path != null) {
+                    path.reversed().forEach(Node::recompute);
+                }
+            }
+        }
+
+        private void insert(String trieKey, Entry entry) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int matched = 0;
+            while (matched < trieKey.length()) {
+                Node child = node.child(trieKey.charAt(matched));
+                if (child == null) {
+                    child = new Node(trieKey.substring(matched));
+                    node.addChild(child);
+                    node = child;
+                    path.add(node);
+                    break;
+                }
+                int common = commonPrefix(child.label, trieKey, matched);
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.addChild(child);
+                    split.recompute();
+                    node.replaceChild(split);
+                    child = split;
+                }
+                matched += common;
+                node = child;
+                path.add(node);
+            }
+            node.addEntry(entry);
+            path.reversed().forEach(Node::recompute);
+        }
+
+        private void delete(String trieKey, Entry entry) {
+            List<Node> path = path(trieKey);
+            if (path == null) {
+                return;
+            }
+            path.get(path.size() - 1).removeEntry(entry);
+            for (int depth = path.size() - 1; depth > 0; depth--) {
+                Node node = path.get(depth);
+                Node parent = path.get(depth - 1);
+                if (node.entries.length == 0 && node.children.length == 0) {
+                    parent.removeChild(node.label.charAt(0));
+                } else if (node.entries.length == 0 && node.children.length == 1) {
+                    node.mergeWithOnlyChild();
+                }
+                node.recompute();
+            }
+            root.recompute();
+        }
+
+        // Nodes from the root to the node holding exactly this key, or null if it is not stored
+        private List<Node> path(String trieKey) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int matched = 0;
+            while (matched < trieKey.length()) {
+                Node child = node.child(trieKey.charAt(matched));
+                if (child == null || !trieKey.startsWith(child.label, matched)) {
+                    return null;
+                }
+                matched += child.label.length();
+                node = child;
+                path.add(node);
+            }
+            return path;
+        }
+
+        private static int commonPrefix(String label, String key, int offset) {
+            int length = Math.min(label.length(), key.length() - offset);
+            int common = 0;
+            while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+                common++;
+            }
+            return common;
+        }
+
+        private static Key key(BookSuggestion.Type type, String text) {
+            return new Key(type, String.join(" ", Tokenizer.words(text)));
+        }
+
+        private static List<String> suffixes(List<String> words) {
+            List<String> suffixes = new ArrayList<>();
+            for (int i = 0; i < Math.min(words.size(), MAX_SUFFIX_WORDS); i++) {
+                suffixes.add(String.join(" ", words.subList(i, words.size())));
+            }
+            return suffixes;
+        }
+
+        private static long string(String value) {
+            return align(12 + 4 + 4 + 1 + 1) + align(16 + value.length());
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+    }
+}
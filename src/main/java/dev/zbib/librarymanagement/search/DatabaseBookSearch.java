@@ -0,0 +1,84 @@
+package dev.zbib.librarymanagement.search;
+
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.specification.BookSpecification;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Searches in Postgres through a full-text expression index and the trigram indexes on title
+ * and author. Postgres keeps them current on every write, so there is nothing to load or
+ * maintain here. The indexes are created on startup, which fails if the {@code pg_trgm}
+ * extension is not available rather than leaving every search to fail later.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseBookSearch implements BookSearch {
+
+    static final List<String> SEARCH_INDEXES = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_book_search_text ON books "
+                    + "USING gin (to_tsvector('english', title || ' ' || author))",
+            "CREATE INDEX IF NOT EXISTS idx_book_title_trgm ON books USING gin (title gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_book_author_trgm ON books USING gin (author gin_trgm_ops)");
+
+    // Injected with the entity manager so that the schema exists before the indexes are created
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void createIndexes() {
+        SEARCH_INDEXES.forEach(jdbcTemplate::execute);
+    }
+
+    @Override
+    public void rebuild() {
+    }
+
+    @Override
+    public void index(UUID id, String title, String author) {
+    }
+
+    @Override
+    public void remove(UUID id) {
+    }
+
+    @Override
+    public void reindex(UUID id) {
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(String query, int limit) {
+        String text = query.trim();
+        if (text.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<Book> root = criteria.from(Book.class);
+        Expression<Double> rank = BookSpecification.textRank(root, cb, text);
+        criteria.multiselect(root.get("id"), rank)
+                .where(BookSpecification.matchesText(text).toPredicate(root, criteria, cb))
+                .orderBy(cb.desc(rank), cb.asc(root.get("id")));
+        return entityManager.createQuery(criteria)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> new SearchHit(tuple.get(0, UUID.class), tuple.get(1, Double.class)))
+                .toList();
+    }
+}
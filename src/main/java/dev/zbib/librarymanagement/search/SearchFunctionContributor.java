@@ -0,0 +1,38 @@
+package dev.zbib.librarymanagement.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes the Postgres full-text and trigram operators to criteria queries. The document
+ * expression must stay identical to {@link DatabaseBookSearch#SEARCH_INDEXES} for the planner to
+ * use the expression index. Registered through {@code META-INF/services}.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    public static final String TEXT_MATCHES = "text_matches";
+    public static final String TEXT_RANK = "text_rank";
+    public static final String WORD_SIMILAR = "word_similar";
+    public static final String WORD_SIMILARITY = "word_similarity";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        BasicType<Boolean> booleanType = types.resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = types.resolve(StandardBasicTypes.DOUBLE);
+
+        // (title, author, query)
+        registry.registerPattern(TEXT_MATCHES,
+                "(to_tsvector('english', ?1 || ' ' || ?2) @@ websearch_to_tsquery('english', ?3))", booleanType);
+        registry.registerPattern(TEXT_RANK,
+                "ts_rank(to_tsvector('english', ?1 || ' ' || ?2), websearch_to_tsquery('english', ?3))", doubleType);
+        // "query <% column": some word of the column is trigram-similar to the query
+        registry.registerPattern(WORD_SIMILAR, "(?1 <% ?2)", booleanType);
+        registry.registerPattern(WORD_SIMILARITY, "word_similarity(?1, ?2)", doubleType);
+    }
+}
@@ -0,0 +1,6 @@
+package dev.zbib.librarymanagement.search;
+
+import java.util.UUID;
+
+public record SearchHit(UUID id, double score) {
+}
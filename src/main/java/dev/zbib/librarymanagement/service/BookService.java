@@ -1,41 +1,120 @@
 package dev.zbib.librarymanagement.service;
 
 import dev.zbib.librarymanagement.builder.BookBuilder;
+import dev.zbib.librarymanagement.bulk.ImportRow;
+import dev.zbib.librarymanagement.bulk.RowExporter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.bulk.RowImporter;
+import dev.zbib.librarymanagement.cache.BooksListCache;
+import dev.zbib.librarymanagement.cache.BooksListChange;
+import dev.zbib.librarymanagement.cache.CacheBatch;
+import dev.zbib.librarymanagement.cache.CacheInvalidation;
+import dev.zbib.librarymanagement.cache.CacheInvalidationBus;
+import dev.zbib.librarymanagement.cache.PageQueryKey;
+import dev.zbib.librarymanagement.cache.RequestCoalescer;
+import dev.zbib.librarymanagement.dto.BatchGetItem;
 import dev.zbib.librarymanagement.dto.BookCreationRequest;
 import dev.zbib.librarymanagement.dto.BookFilterRequest;
 import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.dto.BookSearchResult;
+import dev.zbib.librarymanagement.dto.BookSnapshot;
+import dev.zbib.librarymanagement.dto.BookSuggestion;
 import dev.zbib.librarymanagement.dto.BookUpdateRequest;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.dto.ImportError;
+import dev.zbib.librarymanagement.dto.ImportReport;
+import dev.zbib.librarymanagement.dto.SliceResponse;
 import dev.zbib.librarymanagement.entity.Book;
 import dev.zbib.librarymanagement.exception.BookException;
+import dev.zbib.librarymanagement.pagination.CountMode;
+import dev.zbib.librarymanagement.pagination.KeysetPaginator;
+import dev.zbib.librarymanagement.pagination.KeysetSort;
+import dev.zbib.librarymanagement.pagination.ProjectionPaginator;
+import dev.zbib.librarymanagement.pagination.ScrollRequest;
+import dev.zbib.librarymanagement.pagination.SlicePaginator;
+import dev.zbib.librarymanagement.pagination.SortPolicy;
 import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.search.BookSearch;
+import dev.zbib.librarymanagement.search.BookSuggester;
+import dev.zbib.librarymanagement.search.SearchHit;
 import dev.zbib.librarymanagement.specification.BookSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Caching;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static dev.zbib.librarymanagement.builder.BookBuilder.buildBook;
 import static dev.zbib.librarymanagement.builder.BookBuilder.buildBookResponse;
+import static dev.zbib.librarymanagement.builder.BookBuilder.buildBookSnapshot;
 
 @Service
 @RequiredArgsConstructor
 public class BookService {
 
     private final BookRepository bookRepository;
-    private static final String BOOK_CACHE = "book-details";
-    private static final String BOOKS_LIST_CACHE = "books-list";
+    private final BooksListCache booksListCache;
+    private final RequestCoalescer requestCoalescer;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final KeysetPaginator keysetPaginator;
+    private final SlicePaginator slicePaginator;
+    private final ProjectionPaginator projectionPaginator;
+    private final RowExporter rowExporter;
+    private final RowImporter rowImporter;
+    private final BookSearch bookSearch;
+    private final BookSuggester bookSuggester;
+    private final CacheManager cacheManager;
+    public static final String BOOK_CACHE = "book-details";
+    public static final String BOOK_SNAPSHOT_CACHE = "book-snapshots";
+    private static final String BOOK_LOAD = "book";
+    private static final String BOOKS_LIST_LOAD = "books-list";
+    private static final KeysetSort BOOK_KEYSET = KeysetSort.of(Sort.Order.asc("title"),
+            "title",
+            "author",
+            "publicationYear");
+    private static final SortPolicy BOOK_SORT = SortPolicy.of(Sort.Order.asc("title"),
+            List.of("title"),
+            List.of("author"),
+            List.of("author", "publicationYear"),
+            List.of("publicationYear"));
 
-    @CachePut(value = BOOK_CACHE, key = "#result.id")
+    @Caching(
+            put = @CachePut(value = BOOK_CACHE, key = "#result.id"),
+            evict = @CacheEvict(value = BOOK_SNAPSHOT_CACHE, key = "#result.id")
+    )
     public BookResponse createBook(BookCreationRequest request) {
         Book book = buildBook(request);
         Book savedBook = bookRepository.save(book);
-        return buildBookResponse(savedBook);
+        BookResponse response = buildBookResponse(savedBook);
+        bookSearch.index(response.getId(), response.getTitle(), response.getAuthor());
+        bookSuggester.index(response.getId(), response.getTitle(), response.getAuthor());
+        BooksListChange change = booksListCache.onBookCreated(response);
+        cacheInvalidationBus.publish(CacheInvalidation.evict(response.getId(),
+                change,
+                BOOK_CACHE,
+                BOOK_SNAPSHOT_CACHE));
+        return response;
     }
 
     @Cacheable(
@@ -44,65 +123,202 @@ public class BookService {
             unless = "#result == null"
     )
     public BookResponse getBookRequestById(UUID id) {
-        Book book = getBookById(id);
-        return buildBookResponse(book);
+        return loadBook(id);
+    }
+
+    // One cache round for all ids, one IN query for the misses; duplicates and order follow the request
+    public List<BatchGetItem<BookResponse>> getBooksByIds(List<UUID> ids) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        Cache cache = cacheManager.getCache(BOOK_CACHE);
+        Map<UUID, BookResponse> found = new HashMap<>(CacheBatch.getAllPresent(cache, distinct, BookResponse.class));
+        List<UUID> misses = distinct.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!misses.isEmpty()) {
+            for (Book book : bookRepository.findAllById(misses)) {
+                BookResponse response = buildBookResponse(book);
+                cache.put(response.getId(), response);
+                found.put(response.getId(), response);
+            }
+        }
+        return ids.stream()
+                .map(id -> BatchGetItem.of(id, found.get(id)))
+                .toList();
     }
 
     @Cacheable(
-            value = BOOK_CACHE,
+            value = BOOK_SNAPSHOT_CACHE,
             key = "#id",
             unless = "#result == null"
     )
+    public BookSnapshot getBookSnapshot(UUID id) {
+        return buildBookSnapshot(loadBook(id));
+    }
+
+    public Book getBookReference(UUID id) {
+        return bookRepository.getReferenceById(id);
+    }
+
     public Book getBookById(UUID id) {
-        return bookRepository.findById(id)
-                .orElseThrow(BookException.BookNotFound::new);
+        return findBookById(id);
+    }
+
+    // Concurrent callers share the response, never the entity, which belongs to the loading thread's session
+    private BookResponse loadBook(UUID id) {
+        return requestCoalescer.load(BOOK_LOAD,
+                id,
+                () -> buildBookResponse(findBookById(id)));
     }
 
-    @Cacheable(
-            value = BOOKS_LIST_CACHE,
-            key = "T(java.lang.String).format('filter_%d_%d_page_%d_size_%d', " +
-                    "#filterRequest.fromYear, " +
-                    "#filterRequest.toYear, " +
-                    "#pageable.pageNumber, " +
-                    "#pageable.pageSize)",
-            unless = "#result.isEmpty()"
-    )
     public Page<BookResponse> getBooks(BookFilterRequest filterRequest, Pageable pageable) {
-        Specification<Book> spec = Specification.where(null);
-        if (filterRequest.getFromYear() > 0) {
-            spec = spec.and(BookSpecification.withPublicationYearGreaterThan(filterRequest.getFromYear()));
+        Pageable sorted = BOOK_SORT.apply(pageable);
+        PageQueryKey key = PageQueryKey.forBooks(filterRequest, sorted);
+        return booksListCache.get(key,
+                filterRequest,
+                sorted,
+                () -> requestCoalescer.load(BOOKS_LIST_LOAD, key, () -> findBooks(filterRequest, sorted)));
+    }
+
+    public SliceResponse<BookResponse> getBookSlice(BookFilterRequest filterRequest, Pageable pageable, CountMode count) {
+        return slicePaginator.slice(bookRepository,
+                Book.class,
+                withFilter(filterRequest),
+                PageQueryKey.forBooks(filterRequest, Pageable.unpaged()),
+                BOOK_SORT.apply(pageable),
+                count,
+                BookBuilder::buildBookResponse);
+    }
+
+    public List<BookSearchResult> searchBooks(String query, int limit) {
+        List<SearchHit> hits = bookSearch.search(query, limit);
+        Map<UUID, Book> books = bookRepository.findAllById(hits.stream().map(SearchHit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> books.containsKey(hit.id()))
+                .map(hit -> BookSearchResult.builder()
+                        .book(buildBookResponse(books.get(hit.id())))
+                        .score(hit.score())
+                        .build())
+                .toList();
+    }
+
+    public List<BookSuggestion> suggestBooks(String prefix, int limit) {
+        return bookSuggester.suggest(prefix, limit);
+    }
+
+    public CursorPage<BookResponse> scrollBooks(BookFilterRequest filterRequest, ScrollRequest request) {
+        return keysetPaginator.scroll(bookRepository,
+                Book.class,
+                withFilter(filterRequest),
+                request,
+                BOOK_KEYSET,
+                BookBuilder::buildBookResponse);
+    }
+
+    public void exportBooks(BookFilterRequest filterRequest, RowFormat format, OutputStream output) throws IOException {
+        rowExporter.export(BookBuilder.BOOK_RESPONSE, withFilter(filterRequest), format, output);
+    }
+
+    public ImportReport importBooks(InputStream input, RowFormat format) throws IOException {
+        ImportReport report = rowImporter.importRows(input, format, BookCreationRequest.class, this::insertBooks);
+        if (report.getImported() > 0) {
+            // One pass over the table is far cheaper than indexing hundreds of thousands of books one by one
+            bookSearch.rebuild();
+            bookSuggester.rebuild();
+            // Inserts only add rows, so cached books stay valid; list pages are cleared here and on
+            // every other node at the same point, once the whole import is in
+            booksListCache.clear();
+            cacheInvalidationBus.publish(CacheInvalidation.clear(BooksListCache.NAME, CacheInvalidation.SEARCH_INDEXES));
         }
-        if (filterRequest.getToYear() > 0) {
-            spec = spec.and(BookSpecification.withPublicationYearLessThan(filterRequest.getToYear()));
+        return report;
+    }
+
+    private List<ImportError> insertBooks(List<ImportRow<BookCreationRequest>> rows) {
+        List<Book> books = rows.stream()
+                .map(row -> {
+                    Book book = buildBook(row.value());
+                    book.setId(UUID.randomUUID());
+                    return book;
+                })
+                .toList();
+        Set<UUID> inserted = bookRepository.insertSkippingDuplicateIsbns(books);
+        List<ImportError> duplicates = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            if (!inserted.contains(book.getId())) {
+                duplicates.add(new ImportError(rows.get(i).number(), "isbn: A book with ISBN " + book.getISBN() + " already exists"));
+            }
         }
-        Page<Book> books = bookRepository.findAll(spec,
+        return duplicates;
+    }
+
+    private Page<BookResponse> findBooks(BookFilterRequest filterRequest, Pageable pageable) {
+        return projectionPaginator.page(bookRepository,
+                BookBuilder.BOOK_RESPONSE,
+                withFilter(filterRequest),
                 pageable);
-        return books.map(BookBuilder::buildBookResponse);
     }
 
-    @CachePut(
-            value = BOOK_CACHE,
-            key = "#id",
-            condition = "#result != null"
+    private static Specification<Book> withFilter(BookFilterRequest filterRequest) {
+        PageQueryKey.BookFilterKey filter = PageQueryKey.BookFilterKey.of(filterRequest);
+        Specification<Book> spec = Specification.where(null);
+        if (filter.isbn() != null) {
+            spec = spec.and(BookSpecification.withIsbn(filter.isbn()));
+        }
+        if (filter.author() != null) {
+            spec = spec.and(BookSpecification.withAuthor(filter.author()));
+        }
+        if (filter.titlePrefix() != null) {
+            spec = spec.and(BookSpecification.withTitlePrefix(filter.titlePrefix()));
+        }
+        if (filter.fromYear() > 0) {
+            spec = spec.and(BookSpecification.withPublicationYearFrom(filter.fromYear()));
+        }
+        if (filter.toYear() > 0) {
+            spec = spec.and(BookSpecification.withPublicationYearTo(filter.toYear()));
+        }
+        return spec;
+    }
+
+    @Caching(
+            put = @CachePut(value = BOOK_CACHE, key = "#id", condition = "#result != null"),
+            evict = @CacheEvict(value = BOOK_SNAPSHOT_CACHE, key = "#id")
     )
     public BookResponse updateBook(UUID id, BookUpdateRequest request) {
         Book existingBook = findBookById(id);
+        BookResponse before = buildBookResponse(existingBook);
         updateBookFields(existingBook,
                 request);
         Book updatedBook = bookRepository.save(existingBook);
-        clearBooksListCache();
-        return buildBookResponse(updatedBook);
+        BookResponse response = buildBookResponse(updatedBook);
+        bookSearch.index(id, response.getTitle(), response.getAuthor());
+        bookSuggester.index(id, response.getTitle(), response.getAuthor());
+        BooksListChange change = booksListCache.onBookUpdated(before,
+                response);
+        cacheInvalidationBus.publish(CacheInvalidation.evict(id,
+                change,
+                BOOK_CACHE,
+                BOOK_SNAPSHOT_CACHE));
+        return response;
     }
 
-    @CacheEvict(value = BOOK_CACHE, key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = BOOK_CACHE, key = "#id"),
+            @CacheEvict(value = BOOK_SNAPSHOT_CACHE, key = "#id")
+    })
     public void deleteBook(UUID id) {
+        Optional<Book> book = bookRepository.findById(id);
         bookRepository.deleteById(id);
-        clearBooksListCache();
-    }
-
-    @CacheEvict(value = BOOKS_LIST_CACHE, allEntries = true)
-    public void clearBooksListCache() {
-        // Method intentionally left empty
+        bookSearch.remove(id);
+        bookSuggester.remove(id);
+        BooksListChange change = book.map(BookBuilder::buildBookResponse)
+                .map(booksListCache::onBookDeleted)
+                .orElse(null);
+        cacheInvalidationBus.publish(CacheInvalidation.evict(id,
+                change,
+                BOOK_CACHE,
+                BOOK_SNAPSHOT_CACHE));
     }
 
     private void updateBookFields(Book book, BookUpdateRequest request) {
@@ -1,21 +1,42 @@
 package dev.zbib.librarymanagement.service;
 
+import dev.zbib.librarymanagement.bulk.RowExporter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
 import dev.zbib.librarymanagement.dto.BookBorrowingRequest;
+import dev.zbib.librarymanagement.builder.BorrowingRecordBuilder;
+import dev.zbib.librarymanagement.cache.PageQueryKey;
 import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
+import dev.zbib.librarymanagement.dto.BorrowingRecordResponse;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.dto.SliceResponse;
 import dev.zbib.librarymanagement.entity.Book;
 import dev.zbib.librarymanagement.entity.BorrowingRecord;
 import dev.zbib.librarymanagement.entity.BorrowingStatus;
 import dev.zbib.librarymanagement.entity.Patron;
 import dev.zbib.librarymanagement.exception.BorrowingRecordException;
+import dev.zbib.librarymanagement.pagination.CountMode;
+import dev.zbib.librarymanagement.pagination.KeysetPaginator;
+import dev.zbib.librarymanagement.pagination.KeysetSort;
+import dev.zbib.librarymanagement.pagination.ProjectionPaginator;
+import dev.zbib.librarymanagement.pagination.ScrollRequest;
+import dev.zbib.librarymanagement.pagination.SlicePaginator;
+import dev.zbib.librarymanagement.pagination.SortPolicy;
 import dev.zbib.librarymanagement.repository.BorrowingRecordRepository;
+import dev.zbib.librarymanagement.search.BookSuggester;
 import dev.zbib.librarymanagement.specification.BorrowingRecordSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static dev.zbib.librarymanagement.builder.BorrowingRecordBuilder.buildBorrowingRecord;
@@ -26,18 +47,31 @@ public class BorrowingRecordService {
 
     private static final int MAX_BORROWED_BOOKS = 5;
     private static final int BORROW_DURATION_DAYS = 14;
+    private static final KeysetSort BORROWING_KEYSET = KeysetSort.of(Sort.Order.desc("borrowDate"),
+            "borrowDate",
+            "dueDate");
+    private static final SortPolicy BORROWING_SORT = SortPolicy.of(Sort.Order.desc("borrowDate"),
+            List.of("borrowDate"),
+            List.of("dueDate"));
 
     private final BorrowingRecordRepository borrowingRecordRepository;
     private final BookService bookService;
     private final PatronService patronService;
+    private final KeysetPaginator keysetPaginator;
+    private final SlicePaginator slicePaginator;
+    private final ProjectionPaginator projectionPaginator;
+    private final RowExporter rowExporter;
+    private final BookSuggester bookSuggester;
 
     @Transactional
     public void borrowBook(BookBorrowingRequest request, UUID bookId, UUID patronId) {
         validateBorrowing(bookId,
                 patronId);
 
-        Book book = bookService.getBookById(bookId);
-        Patron patron = patronService.getPatronById(patronId);
+        bookService.getBookSnapshot(bookId);
+        Book book = bookService.getBookReference(bookId);
+        patronService.getPatronRequestById(patronId);
+        Patron patron = patronService.getPatronReference(patronId);
 
         BorrowingRecord borrowingRecord = buildBorrowingRecord(request,
                 book,
@@ -47,6 +81,13 @@ public class BorrowingRecordService {
         borrowingRecord.setOverdue(false);
 
         borrowingRecordRepository.save(borrowingRecord);
+        // The suggester lives in memory, so it must only count a borrow that actually commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bookSuggester.recordBorrow(bookId);
+            }
+        });
     }
 
     private void validateBorrowing(UUID bookId, UUID patronId) {
@@ -75,10 +116,44 @@ public class BorrowingRecordService {
         borrowingRecordRepository.save(borrowingRecord);
     }
 
-    public Page<BorrowingRecord> getBorrowingRecords(BorrowingRecordFilter filter, Pageable pageable) {
-        return borrowingRecordRepository.findAll(
+    public Page<BorrowingRecordResponse> getBorrowingRecords(BorrowingRecordFilter filter, Pageable pageable) {
+        return projectionPaginator.page(borrowingRecordRepository,
+                BorrowingRecordBuilder.BORROWING_RECORD_RESPONSE,
                 BorrowingRecordSpecification.withFilter(filter),
-                pageable
-        );
+                BORROWING_SORT.apply(pageable));
+    }
+
+    public void exportBorrowingRecords(BorrowingRecordFilter filter, RowFormat format, OutputStream output)
+            throws IOException {
+        rowExporter.export(BorrowingRecordBuilder.BORROWING_RECORD_RESPONSE,
+                BorrowingRecordSpecification.withFilter(filter),
+                format,
+                output);
+    }
+
+    public SliceResponse<BorrowingRecordResponse> getBorrowingRecordSlice(BorrowingRecordFilter filter,
+                                                                          Pageable pageable,
+                                                                          CountMode count) {
+        return slicePaginator.slice(borrowingRecordRepository,
+                BorrowingRecord.class,
+                BorrowingRecordSpecification.withFilter(filter),
+                PageQueryKey.forBorrowingRecords(filter, Pageable.unpaged()),
+                BORROWING_SORT.apply(pageable),
+                count,
+                BorrowingRecordBuilder::buildBorrowingRecordResponse,
+                "book",
+                "patron");
+    }
+
+    public CursorPage<BorrowingRecordResponse> scrollBorrowingRecords(BorrowingRecordFilter filter,
+                                                                      ScrollRequest request) {
+        return keysetPaginator.scroll(borrowingRecordRepository,
+                BorrowingRecord.class,
+                BorrowingRecordSpecification.withFilter(filter),
+                request,
+                BORROWING_KEYSET,
+                BorrowingRecordBuilder::buildBorrowingRecordResponse,
+                "book",
+                "patron");
     }
 }
@@ -1,18 +1,51 @@
 package dev.zbib.librarymanagement.service;
 
 import dev.zbib.librarymanagement.builder.PatronBuilder;
+import dev.zbib.librarymanagement.bulk.ImportListener;
+import dev.zbib.librarymanagement.bulk.ImportRow;
+import dev.zbib.librarymanagement.bulk.RowExporter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.bulk.RowImporter;
+import dev.zbib.librarymanagement.cache.CacheInvalidation;
+import dev.zbib.librarymanagement.cache.CacheInvalidationBus;
+import dev.zbib.librarymanagement.cache.PageQueryKey;
+import dev.zbib.librarymanagement.cache.PatronCache;
+import dev.zbib.librarymanagement.cache.RequestCoalescer;
+import dev.zbib.librarymanagement.dto.BatchGetItem;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.dto.ImportError;
+import dev.zbib.librarymanagement.dto.ImportReport;
 import dev.zbib.librarymanagement.dto.PatronCreationRequest;
 import dev.zbib.librarymanagement.dto.PatronResponse;
 import dev.zbib.librarymanagement.dto.PatronUpdateRequest;
+import dev.zbib.librarymanagement.dto.SliceResponse;
 import dev.zbib.librarymanagement.entity.Patron;
 import dev.zbib.librarymanagement.exception.PatronException;
+import dev.zbib.librarymanagement.pagination.CountMode;
+import dev.zbib.librarymanagement.pagination.KeysetPaginator;
+import dev.zbib.librarymanagement.pagination.KeysetSort;
+import dev.zbib.librarymanagement.pagination.ProjectionPaginator;
+import dev.zbib.librarymanagement.pagination.ScrollRequest;
+import dev.zbib.librarymanagement.pagination.SlicePaginator;
+import dev.zbib.librarymanagement.pagination.SortPolicy;
 import dev.zbib.librarymanagement.repository.PatronRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static dev.zbib.librarymanagement.builder.PatronBuilder.buildPatron;
@@ -23,35 +56,163 @@ import static dev.zbib.librarymanagement.builder.PatronBuilder.buildPatronRespon
 public class PatronService {
 
     private final PatronRepository patronRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final PatronCache patronCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final KeysetPaginator keysetPaginator;
+    private final SlicePaginator slicePaginator;
+    private final ProjectionPaginator projectionPaginator;
+    private final RowExporter rowExporter;
+    private final RowImporter rowImporter;
+    private static final String PATRON_LOAD = "patron";
+    private static final KeysetSort PATRON_KEYSET = KeysetSort.of(Sort.Order.asc("lastName"),
+            "lastName",
+            "email");
+    private static final SortPolicy PATRON_SORT = SortPolicy.of(Sort.Order.asc("lastName"),
+            List.of("lastName"),
+            List.of("email"));
 
     @Transactional
     public UUID createPatron(PatronCreationRequest request) {
         Patron patron = buildPatron(request);
-        patron = patronRepository.save(patron);
+        patron = patronRepository.saveAndFlush(patron);
+        patronCache.put(buildPatronResponse(patron));
+        cacheInvalidationBus.publish(CacheInvalidation.evict(patron.getId(),
+                PatronCache.DETAILS,
+                PatronCache.MISSING));
         return patron.getId();
     }
 
     public PatronResponse getPatronRequestById(UUID id) {
-        Patron patron = getPatronById(id);
-        return buildPatronResponse(patron);
+        PatronResponse cached = patronCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        // Concurrent callers share the response, never the entity, which belongs to the loading thread's session
+        PatronResponse response = requestCoalescer.load(PATRON_LOAD,
+                id,
+                () -> buildPatronResponse(getPatronById(id)));
+        patronCache.put(response);
+        return response;
+    }
+
+    // Known-missing ids are skipped and ids the query does not return are remembered as missing
+    public List<BatchGetItem<PatronResponse>> getPatronsByIds(List<UUID> ids) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        Map<UUID, PatronResponse> found = new HashMap<>(patronCache.getAll(distinct));
+        Set<UUID> missing = patronCache.knownMissing(distinct);
+        List<UUID> misses = distinct.stream()
+                .filter(id -> !found.containsKey(id) && !missing.contains(id))
+                .toList();
+        if (!misses.isEmpty()) {
+            for (Patron patron : patronRepository.findAllById(misses)) {
+                PatronResponse response = buildPatronResponse(patron);
+                patronCache.put(response);
+                found.put(response.getId(), response);
+            }
+            misses.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .forEach(patronCache::markMissing);
+        }
+        return ids.stream()
+                .map(id -> BatchGetItem.of(id, found.get(id)))
+                .toList();
     }
 
     public Patron getPatronById(UUID id) {
+        if (patronCache.isKnownMissing(id)) {
+            throw new PatronException.PatronNotFound();
+        }
         return patronRepository.findById(id)
-                .orElseThrow(PatronException.PatronNotFound::new);
+                .orElseThrow(() -> {
+                    patronCache.markMissing(id);
+                    return new PatronException.PatronNotFound();
+                });
+    }
+
+    public Patron getPatronReference(UUID id) {
+        return patronRepository.getReferenceById(id);
     }
 
     public Page<PatronResponse> getPatrons(Pageable pageable) {
-        return patronRepository.findAll(pageable)
-                .map(PatronBuilder::buildPatronResponse);
+        return projectionPaginator.page(patronRepository,
+                PatronBuilder.PATRON_RESPONSE,
+                null,
+                PATRON_SORT.apply(pageable));
+    }
+
+    public void exportPatrons(RowFormat format, OutputStream output) throws IOException {
+        rowExporter.export(PatronBuilder.PATRON_RESPONSE, null, format, output);
+    }
+
+    public ImportReport importPatrons(InputStream input, RowFormat format) throws IOException {
+        return importPatrons(input, format, ImportListener.NONE);
+    }
+
+    public void streamPatronImport(InputStream input, RowFormat format, OutputStream output) throws IOException {
+        importPatrons(input, format, rowImporter.ndjsonEvents(output));
+    }
+
+    private ImportReport importPatrons(InputStream input, RowFormat format, ImportListener listener) throws IOException {
+        return rowImporter.importRows(input, format, PatronCreationRequest.class, this::insertPatrons, listener);
+    }
+
+    // Repeats within the chunk are caught here; repeats of earlier chunks and existing patrons by the insert
+    private List<ImportError> insertPatrons(List<ImportRow<PatronCreationRequest>> rows) {
+        List<ImportError> refused = new ArrayList<>();
+        Map<String, Long> firstRowByEmail = new HashMap<>();
+        List<ImportRow<PatronCreationRequest>> unique = new ArrayList<>(rows.size());
+        List<Patron> patrons = new ArrayList<>(rows.size());
+        for (ImportRow<PatronCreationRequest> row : rows) {
+            Long first = firstRowByEmail.putIfAbsent(row.value().getEmail(), row.number());
+            if (first != null) {
+                refused.add(new ImportError(row.number(), "email: Same email as row " + first));
+                continue;
+            }
+            Patron patron = buildPatron(row.value());
+            patron.setId(UUID.randomUUID());
+            unique.add(row);
+            patrons.add(patron);
+        }
+        Set<UUID> inserted = patronRepository.insertSkippingExistingEmails(patrons);
+        for (int i = 0; i < patrons.size(); i++) {
+            Patron patron = patrons.get(i);
+            if (!inserted.contains(patron.getId())) {
+                refused.add(new ImportError(unique.get(i).number(), "email: A patron with email " + patron.getEmail() + " already exists"));
+            }
+        }
+        refused.sort(Comparator.comparingLong(ImportError::getRow));
+        return refused;
+    }
+
+    public SliceResponse<PatronResponse> getPatronSlice(Pageable pageable, CountMode count) {
+        return slicePaginator.slice(patronRepository,
+                Patron.class,
+                null,
+                PageQueryKey.forPatrons(Pageable.unpaged()),
+                PATRON_SORT.apply(pageable),
+                count,
+                PatronBuilder::buildPatronResponse);
+    }
+
+    public CursorPage<PatronResponse> scrollPatrons(ScrollRequest request) {
+        return keysetPaginator.scroll(patronRepository,
+                Patron.class,
+                null,
+                request,
+                PATRON_KEYSET,
+                PatronBuilder::buildPatronResponse);
     }
 
     @Transactional
     public void deletePatron(UUID id) {
-        if (!patronRepository.existsById(id)) {
+        if (patronCache.isKnownMissing(id) || !patronRepository.existsById(id)) {
             throw new PatronException.PatronNotFound();
         }
         patronRepository.deleteById(id);
+        patronCache.markMissing(id);
+        cacheInvalidationBus.publish(CacheInvalidation.evict(id,
+                PatronCache.DETAILS));
     }
 
     @Transactional
@@ -78,7 +239,11 @@ public class PatronService {
             patron.setMembershipExpiryDate(request.getMembershipExpiryDate());
         }
 
-        patron = patronRepository.save(patron);
+        patron = patronRepository.saveAndFlush(patron);
+        patronCache.put(buildPatronResponse(patron));
+        cacheInvalidationBus.publish(CacheInvalidation.evict(id,
+                PatronCache.DETAILS,
+                PatronCache.MISSING));
         return patron.getId();
     }
 }
\ No newline at end of file
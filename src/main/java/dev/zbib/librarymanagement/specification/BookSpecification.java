@@ -1,14 +1,56 @@
 package dev.zbib.librarymanagement.specification;
 
 import dev.zbib.librarymanagement.entity.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
+import static dev.zbib.librarymanagement.search.SearchFunctionContributor.*;
+
 public class BookSpecification {
-    public static Specification<Book> withPublicationYearGreaterThan(int year) {
-        return (root, query, cb) -> cb.greaterThan(root.get("publicationYear"), year);
+    public static Specification<Book> withPublicationYearFrom(int year) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("publicationYear"), year);
+    }
+
+    public static Specification<Book> withPublicationYearTo(int year) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("publicationYear"), year);
+    }
+
+    public static Specification<Book> withAuthor(String author) {
+        return (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    // Left-anchored LIKE, served by the text_pattern_ops index on title whatever the database collation
+    public static Specification<Book> withTitlePrefix(String prefix) {
+        String pattern = prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("title"), pattern, '\\');
+    }
+
+    public static Specification<Book> withIsbn(String isbn) {
+        return (root, query, cb) -> cb.equal(root.get("ISBN"), isbn);
+    }
+
+    /**
+     * Books whose title or author matches {@code text} as a full-text query, or contains a word
+     * trigram-similar to it so that typos still match. Each branch is served by a GIN index.
+     */
+    public static Specification<Book> matchesText(String text) {
+        return (root, query, cb) -> cb.or(
+                cb.isTrue(cb.function(TEXT_MATCHES, Boolean.class,
+                        root.get("title"), root.get("author"), cb.literal(text))),
+                cb.isTrue(cb.function(WORD_SIMILAR, Boolean.class, cb.literal(text), root.get("title"))),
+                cb.isTrue(cb.function(WORD_SIMILAR, Boolean.class, cb.literal(text), root.get("author"))));
     }
 
-    public static Specification<Book> withPublicationYearLessThan(int year) {
-        return (root, query, cb) -> cb.lessThan(root.get("publicationYear"), year);
+    // Full-text rank plus trigram similarity for typo matches, with author similarity weighted below title
+    public static Expression<Double> textRank(Root<Book> root, CriteriaBuilder cb, String text) {
+        Expression<Double> fullText = cb.function(TEXT_RANK, Double.class,
+                root.get("title"), root.get("author"), cb.literal(text));
+        Expression<Double> title = cb.function(WORD_SIMILARITY, Double.class, cb.literal(text), root.get("title"));
+        Expression<Double> author = cb.function(WORD_SIMILARITY, Double.class, cb.literal(text), root.get("author"));
+        return cb.sum(cb.sum(fullText, title), cb.prod(author, 0.5));
     }
-} 
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package dev.zbib.librarymanagement.specification;
 
 import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
 import dev.zbib.librarymanagement.entity.BorrowingRecord;
+import dev.zbib.librarymanagement.entity.BorrowingStatus;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
@@ -40,12 +41,13 @@ public class BorrowingRecordSpecification {
                     cb.lessThanOrEqualTo(root.get("borrowDate"), filter.getToDate()));
         }
 
-        if (filter.getIsOverdue() != null && filter.getIsOverdue()) {
-            spec = spec.and((root, query, cb) ->
+        if (filter.getIsOverdue() != null) {
+            Specification<BorrowingRecord> overdue = (root, query, cb) ->
                     cb.and(
                             cb.lessThan(root.get("dueDate"), LocalDateTime.now()),
-                            cb.equal(root.get("status"), "BORROWED")
-                    ));
+                            cb.equal(root.get("status"), BorrowingStatus.BORROWED)
+                    );
+            spec = spec.and(filter.getIsOverdue() ? overdue : Specification.not(overdue));
         }
 
         return spec;
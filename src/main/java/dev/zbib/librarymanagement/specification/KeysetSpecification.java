@@ -0,0 +1,27 @@
+package dev.zbib.librarymanagement.specification;
+
+import dev.zbib.librarymanagement.pagination.Cursor;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+public class KeysetSpecification {
+
+    // Rows after the cursor in (property, id) order. The redundant bound on the property alone
+    // is what lets Postgres start an index range scan at the cursor instead of filtering from the start.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(Cursor cursor, Comparable value) {
+        return (root, query, cb) -> {
+            Path<Comparable> property = root.get(cursor.property());
+            Path<UUID> id = root.get("id");
+            if (cursor.direction() == Sort.Direction.ASC) {
+                return cb.and(cb.greaterThanOrEqualTo(property, value),
+                        cb.or(cb.greaterThan(property, value), cb.greaterThan(id, cursor.id())));
+            }
+            return cb.and(cb.lessThanOrEqualTo(property, value),
+                    cb.or(cb.lessThan(property, value), cb.lessThan(id, cursor.id())));
+        };
+    }
+}
@@ -0,0 +1,3 @@
+-- Run by Hibernate after it creates the schema. Indexes that JPA annotations cannot express.
+-- The search indexes are created by DatabaseBookSearch, only when the database search mode is on.
+CREATE INDEX idx_book_title_pattern ON books (title text_pattern_ops);
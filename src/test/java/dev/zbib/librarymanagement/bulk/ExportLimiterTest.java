@@ -0,0 +1,91 @@
+package dev.zbib.librarymanagement.bulk;
+
+import dev.zbib.librarymanagement.exception.ExportException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExportLimiter exportLimiter = new ExportLimiter(meterRegistry,
+            2,
+            10,
+            Duration.ofMinutes(30),
+            Duration.ofSeconds(30));
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        newRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void limit_OverTheCap_ShouldRejectWithRetryAfterUntilAnExportFinishes() throws Exception {
+        StreamingResponseBody first = exportLimiter.limit(output -> output.write('a'));
+        newRequest();
+        exportLimiter.limit(output -> output.write('b'));
+        newRequest();
+
+        ExportException.TooManyExports error = assertThrows(ExportException.TooManyExports.class,
+                () -> exportLimiter.limit(output -> output.write('c')));
+        assertEquals(Duration.ofSeconds(30), error.getRetryAfter());
+        assertEquals(1, meterRegistry.counter("export.admission", "outcome", "rejected").count());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        first.writeTo(output);
+        first.writeTo(new ByteArrayOutputStream());
+
+        assertEquals("a", output.toString());
+        assertEquals(1, exportLimiter.availablePermits());
+        exportLimiter.limit(out -> out.write('c'));
+        assertEquals(0, exportLimiter.availablePermits());
+    }
+
+    @Test
+    void limit_ShouldGiveTheExportTheLongAsyncTimeout() {
+        StandardServletAsyncWebRequest asyncRequest = new StandardServletAsyncWebRequest(request,
+                new MockHttpServletResponse());
+        asyncRequest.setTimeout(30_000L);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncRequest);
+
+        exportLimiter.limit(output -> output.write('a'));
+        asyncRequest.startAsync();
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), request.getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void constructor_WithCapNotBelowPoolSize_ShouldFailFast() {
+        assertThrows(IllegalStateException.class, () -> new ExportLimiter(meterRegistry,
+                10,
+                10,
+                Duration.ofMinutes(30),
+                Duration.ofSeconds(30)));
+    }
+
+    private void newRequest() {
+        request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
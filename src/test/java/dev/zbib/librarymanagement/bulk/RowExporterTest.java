@@ -0,0 +1,94 @@
+package dev.zbib.librarymanagement.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.builder.BookBuilder;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the Postgres configured by the dev profile, so it is skipped unless
+ * {@code POSTGRES_HOST} is set.
+ */
+@SpringBootTest(properties = {
+        "app.export.fetch-size=3",
+        "app.cache.invalidation.enabled=false",
+        "app.cache.warm-up.enabled=false"})
+@ActiveProfiles("dev")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+class RowExporterTest {
+
+    private static final Specification<Book> EXPORTED = (root, query, cb) ->
+            cb.equal(root.get("author"), "Export \"Test\", Author");
+
+    @Autowired
+    private RowExporter rowExporter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        // More rows than the fetch size, so the cursor is read in several batches
+        books = bookRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> Book.builder()
+                        .title("Line\nbreak " + i)
+                        .author("Export \"Test\", Author")
+                        .publicationYear(2000 + i)
+                        .ISBN(UUID.randomUUID().toString().substring(0, 20))
+                        .build())
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll(books);
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        List<String> lines = export(RowFormat.NDJSON).lines().toList();
+
+        assertEquals(10, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("Export \"Test\", Author", first.get("author").asText());
+        assertTrue(first.has("isbn"));
+        assertFalse(first.has("version"));
+    }
+
+    @Test
+    void export_AsCsv_ShouldQuoteSeparatorsAndLineBreaks() throws Exception {
+        String csv = export(RowFormat.CSV);
+
+        assertTrue(csv.startsWith("id,title,author,publicationYear,isbn\r\n"), csv);
+        assertEquals(11, csv.split("\r\n").length);
+        assertTrue(csv.contains(",\"Line\nbreak 0\",\"Export \"\"Test\"\", Author\",2000,"), csv);
+    }
+
+    private String export(RowFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        rowExporter.export(BookBuilder.BOOK_RESPONSE, EXPORTED, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
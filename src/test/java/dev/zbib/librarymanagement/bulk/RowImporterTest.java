@@ -0,0 +1,102 @@
+package dev.zbib.librarymanagement.bulk;
+
+import dev.zbib.librarymanagement.dto.BookCreationRequest;
+import dev.zbib.librarymanagement.dto.ImportError;
+import dev.zbib.librarymanagement.dto.ImportReport;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowImporterTest {
+
+    private final RowImporter rowImporter = new RowImporter(Jackson2ObjectMapperBuilder.json().build(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            2,
+            2);
+
+    private final List<List<ImportRow<BookCreationRequest>>> chunks = new ArrayList<>();
+
+    @Test
+    void importRows_Ndjson_ShouldWriteValidRowsInChunksAndReportInvalidOnes() throws Exception {
+        ImportReport report = importRows(RowFormat.NDJSON, """
+                {"title":"One","author":"A","publicationYear":2001,"isbn":"9781111111111"}
+
+                {"title":"","author":"B","publicationYear":2002,"isbn":"9781111111112"}
+                {broken
+                {"title":"Two","author":"C","publicationYear":2003,"isbn":"9781111111113"}
+                {"title":"Three","author":"D","publicationYear":2004,"isbn":"9781111111114"}
+                """);
+
+        assertEquals(5, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(ImportError::getRow).toList());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("title: "));
+        assertEquals(List.of(2, 1), chunks.stream().map(List::size).toList());
+        assertEquals(List.of(1L, 4L), chunks.get(0).stream().map(ImportRow::number).toList());
+    }
+
+    @Test
+    void importRows_Csv_ShouldBindColumnsByHeaderAndHandleQuotedFields() throws Exception {
+        ImportReport report = importRows(RowFormat.CSV, "\uFEFFtitle,author,publicationYear,isbn\r\n"
+                + "\"Commas, \"\"Quotes\"\"\nand lines\",A,1999,9781111111111\r\n"
+                + "Short,Row\r\n"
+                + "Year,B,nineteen,9781111111112\r\n");
+
+        assertEquals(3, report.getRows());
+        assertEquals(1, report.getImported());
+        BookCreationRequest first = chunks.get(0).get(0).value();
+        assertEquals("Commas, \"Quotes\"\nand lines", first.getTitle());
+        assertEquals(1999, first.getPublicationYear());
+        assertEquals("Expected 4 fields, found 2", report.getErrors().get(0).getMessage());
+        assertEquals("publicationYear: invalid value", report.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void importRows_CsvWithUnterminatedQuoteAtEnd_ShouldRejectThatRow() throws Exception {
+        ImportReport report = importRows(RowFormat.CSV, "title,author,publicationYear,isbn\r\n"
+                + "One,A,2001,9781111111111\r\n"
+                + "\"Open,B,2002,9781111111112\r\n");
+
+        assertEquals(2, report.getRows());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2L, report.getErrors().get(0).getRow());
+        assertEquals("Unterminated quoted field", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importRows_WhenWriterRefusesRowsAndErrorsOverflow_ShouldCountEveryRejection() throws Exception {
+        ImportReport report = rowImporter.importRows(input("""
+                        {"title":"","author":"A","publicationYear":2001,"isbn":"9781111111111"}
+                        {"title":"One","author":"A","publicationYear":2001,"isbn":"9781111111111"}
+                        {"title":"Two","author":"A","publicationYear":2001,"isbn":"9781111111112"}
+                        """),
+                RowFormat.NDJSON,
+                BookCreationRequest.class,
+                chunk -> chunk.stream().map(row -> new ImportError(row.number(), "duplicate")).toList());
+
+        assertEquals(0, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+    }
+
+    private ImportReport importRows(RowFormat format, String body) throws Exception {
+        return rowImporter.importRows(input(body), format, BookCreationRequest.class, chunk -> {
+            chunks.add(List.copyOf(chunk));
+            return List.of();
+        });
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
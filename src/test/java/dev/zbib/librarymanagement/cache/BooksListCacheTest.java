@@ -0,0 +1,165 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.config.CacheConfig;
+import dev.zbib.librarymanagement.config.CacheProperties;
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BooksListCacheTest {
+
+    private final BookFilterRequest filter = new BookFilterRequest();
+    private final Pageable pageable = PageRequest.of(0, 10);
+    private final PageQueryKey key = PageQueryKey.forBooks(filter, pageable);
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_PastSoftTtl_ShouldServeCachedPageAndRefreshInBackground() {
+        BooksListCache cache = cache(Duration.ZERO, Duration.ofMinutes(5));
+        Page<BookResponse> first = cache.get(key, filter, pageable, loader("first"));
+
+        Page<BookResponse> served = cache.get(key, filter, pageable, loader("second"));
+        cache.get(key, filter, pageable, loader("third"));
+
+        assertSame(first, served);
+        assertEquals(1, loads.get());
+        assertEquals(1, refreshes.size());
+        refreshes.forEach(Runnable::run);
+        assertEquals("second", title(cache.get(key, filter, pageable, loader("unused"))));
+        assertEquals(1, meterRegistry.counter("cache.refresh", "cache", BooksListCache.NAME, "result", "refreshed").count());
+    }
+
+    @Test
+    void get_PastHardTtl_ShouldReloadSynchronously() {
+        BooksListCache cache = cache(Duration.ZERO, Duration.ZERO);
+        cache.get(key, filter, pageable, loader("first"));
+
+        Page<BookResponse> page = cache.get(key, filter, pageable, loader("second"));
+
+        assertEquals("second", title(page));
+        assertEquals(2, loads.get());
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    void get_WithConfiguredCaffeineCache_ShouldServeStalePageAndThenRefreshIt() throws InterruptedException {
+        BooksListCache cache = new BooksListCache(caffeineCacheManager(),
+                refreshes::add,
+                meterRegistry,
+                Duration.ofMillis(20),
+                Duration.ofMinutes(5));
+        Page<BookResponse> first = cache.get(key, filter, pageable, loader("first"));
+        Thread.sleep(30);
+
+        assertSame(first, cache.get(key, filter, pageable, loader("second")));
+        assertEquals(1, refreshes.size());
+
+        refreshes.forEach(Runnable::run);
+        assertEquals("second", title(cache.get(key, filter, pageable, loader("unused"))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WithConfiguredCaffeineCache_ShouldKeepPagesPastHardTtlForSynchronousReload() throws InterruptedException {
+        CacheManager cacheManager = caffeineCacheManager();
+        BooksListCache cache = new BooksListCache(cacheManager,
+                refreshes::add,
+                meterRegistry,
+                Duration.ZERO,
+                Duration.ofMillis(20));
+        cache.get(key, filter, pageable, loader("first"));
+        Thread.sleep(30);
+
+        assertNotNull(cacheManager.getCache(BooksListCache.NAME).get(key));
+        assertEquals("second", title(cache.get(key, filter, pageable, loader("second"))));
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    void get_WhenWriteIsAppliedDuringLoad_ShouldNotCacheThePage() {
+        BooksListCache cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        cache.get(key, filter, pageable, () -> {
+            Page<BookResponse> page = loader("before write").get();
+            cache.clear();
+            return page;
+        });
+        Page<BookResponse> page = cache.get(key, filter, pageable, loader("after write"));
+
+        assertEquals("after write", title(page));
+    }
+
+    @Test
+    void get_WhenRefreshExecutorIsFull_ShouldKeepServingCachedPage() {
+        BooksListCache cache = new BooksListCache(new ConcurrentMapCacheManager(),
+                task -> {
+                    throw new RejectedExecutionException();
+                },
+                meterRegistry,
+                Duration.ZERO,
+                Duration.ofMinutes(5));
+        cache.get(key, filter, pageable, loader("first"));
+
+        Page<BookResponse> page = cache.get(key, filter, pageable, loader("second"));
+
+        assertEquals("first", title(page));
+        assertEquals(1, meterRegistry.counter("cache.refresh", "cache", BooksListCache.NAME, "result", "rejected").count());
+    }
+
+    private BooksListCache cache(Duration softTtl, Duration hardTtl) {
+        return new BooksListCache(new ConcurrentMapCacheManager(), refreshes::add, meterRegistry, softTtl, hardTtl);
+    }
+
+    // The books-list spec from application.yaml
+    private static CacheManager caffeineCacheManager() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.CacheSpec spec = new CacheProperties.CacheSpec();
+        spec.setMaximumWeight(20000L);
+        properties.getCaches().put(BooksListCache.NAME, spec);
+        return new CacheConfig().cacheManager(properties);
+    }
+
+    private Supplier<Page<BookResponse>> loader(String title) {
+        return () -> {
+            loads.incrementAndGet();
+            BookResponse book = BookResponse.builder()
+                    .id(UUID.randomUUID())
+                    .title(title)
+                    .author("Author")
+                    .isbn("1234567890")
+                    .publicationYear(2000)
+                    .build();
+            return new PageImpl<>(List.of(book), pageable, 1);
+        };
+    }
+
+    private static String title(Page<BookResponse> page) {
+        return page.getContent().get(0).getTitle();
+    }
+}
@@ -0,0 +1,197 @@
+package dev.zbib.librarymanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.search.BookSearch;
+import dev.zbib.librarymanagement.search.BookSuggester;
+import dev.zbib.librarymanagement.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID bookId = UUID.randomUUID();
+
+    private ConcurrentMapCacheManager cacheManager;
+    private BooksListCache booksListCache;
+    private jakarta.persistence.Cache secondLevelCache;
+    private DataSource dataSource;
+    private BookSearch bookSearch;
+    private BookSuggester bookSuggester;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        booksListCache = new BooksListCache(cacheManager,
+                Runnable::run,
+                new SimpleMeterRegistry(),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(5));
+        secondLevelCache = mock(jakarta.persistence.Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        dataSource = mock(DataSource.class);
+        bookSearch = mock(BookSearch.class);
+        bookSuggester = mock(BookSuggester.class);
+        bus = new CacheInvalidationBus(cacheManager,
+                booksListCache,
+                bookSearch,
+                bookSuggester,
+                entityManagerFactory,
+                dataSource,
+                objectMapper,
+                new SimpleMeterRegistry(),
+                true,
+                "cache_invalidation",
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1));
+    }
+
+    @Test
+    void handle_FromOtherNode_ShouldEvictEntriesAndApplyBooksListChange() throws Exception {
+        BookResponse book = book(2001);
+        cacheManager.getCache(BookService.BOOK_CACHE).put(bookId, book);
+        PageQueryKey pageKey = cacheBooksPage(book);
+
+        bus.handle(objectMapper.writeValueAsString(new CacheInvalidationBus.Message("other-node",
+                CacheInvalidation.evict(bookId, BooksListChange.deleted(book), BookService.BOOK_CACHE))));
+
+        assertNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
+        assertNull(cacheManager.getCache(BooksListCache.NAME).get(pageKey));
+        verify(secondLevelCache).evict(Book.class, bookId);
+        verify(bookSearch).reindex(bookId);
+        verify(bookSuggester).reindex(bookId);
+    }
+
+    @Test
+    void handle_ClearFromOtherNode_ShouldClearCachesAndRebuildSearchIndexes() throws Exception {
+        BookResponse book = book(2001);
+        cacheManager.getCache(BookService.BOOK_CACHE).put(bookId, book);
+        PageQueryKey pageKey = cacheBooksPage(book);
+
+        bus.handle(objectMapper.writeValueAsString(new CacheInvalidationBus.Message("other-node",
+                CacheInvalidation.clear(BookService.BOOK_CACHE, BooksListCache.NAME))));
+
+        assertNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
+        assertNull(cacheManager.getCache(BooksListCache.NAME).get(pageKey));
+        verify(secondLevelCache).evict(Book.class);
+        verify(bookSearch).rebuild();
+        verify(bookSuggester).rebuild();
+    }
+
+    @Test
+    void handle_ImportClearFromOtherNode_ShouldKeepCachedBooksAndRebuildSearchIndexes() throws Exception {
+        BookResponse book = book(2001);
+        cacheManager.getCache(BookService.BOOK_CACHE).put(bookId, book);
+        PageQueryKey pageKey = cacheBooksPage(book);
+
+        bus.handle(objectMapper.writeValueAsString(new CacheInvalidationBus.Message("other-node",
+                CacheInvalidation.clear(BooksListCache.NAME, CacheInvalidation.SEARCH_INDEXES))));
+
+        assertNotNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
+        assertNull(cacheManager.getCache(BooksListCache.NAME).get(pageKey));
+        assertFalse(cacheManager.getCacheNames().contains(CacheInvalidation.SEARCH_INDEXES));
+        verifyNoInteractions(secondLevelCache);
+        verify(bookSearch).rebuild();
+        verify(bookSuggester).rebuild();
+    }
+
+    @Test
+    void handle_OwnNotification_ShouldBeIgnored() throws Exception {
+        AtomicReference<String> payload = capturePublishedPayload();
+        cacheManager.getCache(BookService.BOOK_CACHE).put(bookId, book(2001));
+
+        bus.publish(CacheInvalidation.evict(bookId, BookService.BOOK_CACHE));
+        bus.handle(payload.get());
+
+        assertNotNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
+    }
+
+    @Test
+    void handle_MalformedPayload_ShouldBeIgnored() {
+        cacheManager.getCache(BookService.BOOK_CACHE).put(bookId, book(2001));
+
+        assertDoesNotThrow(() -> bus.handle("not json"));
+        assertNotNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
+    }
+
+    @Test
+    void flushLocalCaches_ShouldClearEveryCache() {
+        cacheManager.getCache(BookService.BOOK_CACHE).put(bookId, book(2001));
+        cacheManager.getCache(PatronCache.DETAILS).put(UUID.randomUUID(), "patron");
+
+        bus.flushLocalCaches();
+
+        assertNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
+        assertTrue(((Map<?, ?>) cacheManager.getCache(PatronCache.DETAILS).getNativeCache()).isEmpty());
+        verify(secondLevelCache).evictAll();
+    }
+
+    @Test
+    void flushLocalCaches_DuringBooksPageLoad_ShouldNotLetTheLoadRecacheThePage() {
+        BookFilterRequest filter = new BookFilterRequest();
+        PageRequest pageable = PageRequest.of(0, 10);
+        PageQueryKey key = PageQueryKey.forBooks(filter, pageable);
+
+        booksListCache.get(key, filter, pageable, () -> {
+            bus.flushLocalCaches();
+            return new PageImpl<>(List.of(book(2001)), pageable, 1);
+        });
+
+        assertNull(cacheManager.getCache(BooksListCache.NAME).get(key));
+    }
+
+    private AtomicReference<String> capturePublishedPayload() throws Exception {
+        AtomicReference<String> payload = new AtomicReference<>();
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doAnswer(invocation -> {
+            payload.set(invocation.getArgument(1));
+            return null;
+        }).when(statement).setString(eq(2), anyString());
+        return payload;
+    }
+
+    private PageQueryKey cacheBooksPage(BookResponse book) {
+        BookFilterRequest filter = new BookFilterRequest();
+        PageRequest pageable = PageRequest.of(0, 10);
+        PageQueryKey key = PageQueryKey.forBooks(filter, pageable);
+        booksListCache.get(key, filter, pageable, () -> new PageImpl<>(List.of(book), pageable, 1));
+        return key;
+    }
+
+    private BookResponse book(int publicationYear) {
+        return BookResponse.builder()
+                .id(bookId)
+                .title("Title")
+                .author("Author")
+                .isbn("1234567890")
+                .publicationYear(publicationYear)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package dev.zbib.librarymanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.config.CacheProperties;
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class CacheWarmerTest {
+
+    @TempDir
+    private Path directory;
+
+    private CacheProperties properties;
+    private BookRepository bookRepository;
+    private BookService bookService;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheProperties();
+        properties.getWarmUp().setSnapshotFile(directory.resolve("snapshot.json"));
+        properties.getWarmUp().setBatchSize(2);
+        bookRepository = mock(BookRepository.class);
+        bookService = mock(BookService.class);
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        when(cacheInvalidationBus.awaitListening(any())).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void run_WithSnapshotFromPreviousNode_ShouldPreloadBooksInBatchesAndPages() throws Exception {
+        List<Book> books = books(5);
+        ConcurrentMapCacheManager previous = new ConcurrentMapCacheManager();
+        books.forEach(book -> previous.getCache(BookService.BOOK_CACHE).put(book.getId(), "cached"));
+        BookFilterRequest hotFilter = BookFilterRequest.builder().fromYear(1900).toYear(2000).author("Jane Austen").build();
+        previous.getCache(BooksListCache.NAME).put(PageQueryKey.forBooks(hotFilter,
+                PageRequest.of(1, 20, Sort.by(Sort.Order.desc("title")))), "page");
+        warmer(previous).writeSnapshot();
+        when(bookRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            return books.stream()
+                    .filter(book -> contains(ids, book.getId()))
+                    .toList();
+        });
+
+        ConcurrentMapCacheManager fresh = new ConcurrentMapCacheManager();
+        warmer(fresh).run(null);
+
+        verify(bookRepository, times(3)).findAllById(anyIterable());
+        books.forEach(book -> assertInstanceOf(BookResponse.class,
+                fresh.getCache(BookService.BOOK_CACHE).get(book.getId()).get()));
+        ArgumentCaptor<BookFilterRequest> filter = ArgumentCaptor.forClass(BookFilterRequest.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookService).getBooks(filter.capture(), pageable.capture());
+        assertEquals(1900, filter.getValue().getFromYear());
+        assertEquals(2000, filter.getValue().getToYear());
+        assertEquals("Jane Austen", filter.getValue().getAuthor());
+        assertEquals(PageRequest.of(1, 20, Sort.by(Sort.Order.desc("title"))), pageable.getValue());
+        assertEquals(5, meterRegistry.counter("cache.warmup.loaded", "cache", BookService.BOOK_CACHE).count());
+    }
+
+    @Test
+    void run_WhenTimeBudgetIsUsedUp_ShouldStopLoading() {
+        properties.getWarmUp().setTimeout(Duration.ZERO);
+        ConcurrentMapCacheManager previous = new ConcurrentMapCacheManager();
+        books(3).forEach(book -> previous.getCache(BookService.BOOK_CACHE).put(book.getId(), "cached"));
+        warmer(previous).writeSnapshot();
+
+        warmer(new ConcurrentMapCacheManager()).run(null);
+
+        verifyNoInteractions(bookRepository, bookService);
+    }
+
+    @Test
+    void writeSnapshot_WithEmptyCaches_ShouldKeepPreviousSnapshot() throws Exception {
+        Path file = properties.getWarmUp().getSnapshotFile();
+        Files.writeString(file, "{\"bookIds\":{},\"booksPages\":[]}");
+
+        warmer(new ConcurrentMapCacheManager()).writeSnapshot();
+
+        assertEquals("{\"bookIds\":{},\"booksPages\":[]}", Files.readString(file));
+    }
+
+    private CacheWarmer warmer(ConcurrentMapCacheManager cacheManager) {
+        return new CacheWarmer(cacheManager,
+                bookRepository,
+                bookService,
+                cacheInvalidationBus,
+                new ObjectMapper(),
+                meterRegistry,
+                properties);
+    }
+
+    private static List<Book> books(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Book.builder()
+                        .id(UUID.randomUUID())
+                        .title("Book " + i)
+                        .author("Author")
+                        .ISBN("123456789" + i)
+                        .publicationYear(2000 + i)
+                        .build())
+                .toList();
+    }
+
+    private static boolean contains(Iterable<UUID> ids, UUID id) {
+        for (UUID candidate : ids) {
+            if (candidate.equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
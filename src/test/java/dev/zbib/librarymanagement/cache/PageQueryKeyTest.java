@@ -0,0 +1,107 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.dto.BookFilterRequest;
+import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
+import dev.zbib.librarymanagement.entity.BorrowingStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageQueryKeyTest {
+
+    @Test
+    void forBooks_WithSameQuery_ShouldBeEqual() {
+        BookFilterRequest filter = BookFilterRequest.builder().fromYear(1900).toYear(2000).build();
+
+        PageQueryKey first = PageQueryKey.forBooks(filter, PageRequest.of(1, 20, Sort.by("title")));
+        PageQueryKey second = PageQueryKey.forBooks(
+                BookFilterRequest.builder().fromYear(1900).toYear(2000).build(),
+                PageRequest.of(1, 20, Sort.by("title")));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void forBooks_WithDifferentSort_ShouldNotCollide() {
+        BookFilterRequest filter = BookFilterRequest.builder().build();
+
+        PageQueryKey ascending = PageQueryKey.forBooks(filter, PageRequest.of(0, 10, Sort.by("title").ascending()));
+        PageQueryKey descending = PageQueryKey.forBooks(filter, PageRequest.of(0, 10, Sort.by("title").descending()));
+        PageQueryKey unsorted = PageQueryKey.forBooks(filter, PageRequest.of(0, 10));
+
+        assertNotEquals(ascending, descending);
+        assertNotEquals(ascending, unsorted);
+    }
+
+    @Test
+    void forBooks_ShouldNormalizeMissingFilter() {
+        assertEquals(PageQueryKey.forBooks(null, PageRequest.of(0, 10)),
+                PageQueryKey.forBooks(BookFilterRequest.builder().build(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void forBooks_ShouldTreatBlankTextFiltersAsAbsent() {
+        BookFilterRequest blank = BookFilterRequest.builder().author(" ").titlePrefix("").isbn(null).build();
+        BookFilterRequest padded = BookFilterRequest.builder().author(" Jane Austen ").build();
+
+        assertEquals(PageQueryKey.forBooks(null, PageRequest.of(0, 10)), PageQueryKey.forBooks(blank, PageRequest.of(0, 10)));
+        assertEquals("Jane Austen", PageQueryKey.BookFilterKey.of(padded).author());
+    }
+
+    @Test
+    void bookFilterKey_ShouldMatchInclusiveYearsAuthorTitlePrefixAndIsbn() {
+        PageQueryKey.BookFilterKey filter = PageQueryKey.BookFilterKey.of(BookFilterRequest.builder()
+                .fromYear(1811)
+                .toYear(1815)
+                .author("Jane Austen")
+                .titlePrefix("Pride")
+                .build());
+
+        assertTrue(filter.matches(new BooksListChange.Listing("Pride and Prejudice", "Jane Austen", "1", 1813)));
+        assertTrue(filter.matches(new BooksListChange.Listing("Pride and Prejudice", "Jane Austen", "1", 1815)));
+        assertFalse(filter.matches(new BooksListChange.Listing("Emma", "Jane Austen", "2", 1815)));
+        assertFalse(filter.matches(new BooksListChange.Listing("Pride and Prejudice", "J. Austen", "1", 1813)));
+        assertFalse(filter.matches(new BooksListChange.Listing("Pride and Prejudice", "Jane Austen", "1", 1816)));
+        assertFalse(PageQueryKey.BookFilterKey.of(BookFilterRequest.builder().isbn("9").build())
+                .matches(new BooksListChange.Listing("Emma", "Jane Austen", "2", 1815)));
+    }
+
+    @Test
+    void differentScopes_ShouldNotCollide() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertNotEquals(PageQueryKey.forPatrons(pageable),
+                PageQueryKey.forBorrowingRecords(null, pageable));
+    }
+
+    @Test
+    void forBorrowingRecords_ShouldCompareFilterByValue() {
+        UUID patronId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(0, 10);
+
+        PageQueryKey first = PageQueryKey.forBorrowingRecords(BorrowingRecordFilter.builder()
+                .patronId(patronId)
+                .status(BorrowingStatus.BORROWED)
+                .build(), pageable);
+        PageQueryKey second = PageQueryKey.forBorrowingRecords(BorrowingRecordFilter.builder()
+                .patronId(patronId)
+                .status(BorrowingStatus.BORROWED)
+                .build(), pageable);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void unpaged_ShouldProduceKey() {
+        PageQueryKey key = PageQueryKey.forPatrons(Pageable.unpaged());
+
+        assertEquals(-1, key.page());
+        assertEquals(-1, key.size());
+    }
+}
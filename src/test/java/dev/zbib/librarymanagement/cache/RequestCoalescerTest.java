@@ -0,0 +1,143 @@
+package dev.zbib.librarymanagement.cache;
+
+import dev.zbib.librarymanagement.exception.BookException;
+import dev.zbib.librarymanagement.exception.CacheException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(2));
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void load_WithConcurrentCallersForSameKey_ShouldRunLoaderOnce() throws Exception {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> coalescer.load("book", id, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        }));
+        waitForWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, deduplicated());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void load_WhenLoaderFails_ShouldPropagateToEveryWaiter() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> coalescer.load("book", id, () -> {
+            await(release);
+            throw new BookException.BookNotFound();
+        }));
+        waitForWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(BookException.BookNotFound.class, e.getCause());
+        }
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void load_WhenInFlightLoadIsTooSlow_ShouldTimeOutWaiters() throws Exception {
+        coalescer = new RequestCoalescer(meterRegistry, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> coalescer.load("patron", "slow", () -> {
+            await(release);
+            return "late";
+        }));
+        while (coalescer.inFlightCount() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(CacheException.LoadTimeout.class, () -> coalescer.load("patron", "slow", () -> "own"));
+
+        release.countDown();
+        assertEquals("late", leader.get(2, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.counter("cache.coalescing.timeouts", "namespace", "patron").count());
+    }
+
+    @Test
+    void load_WithDifferentNamespaces_ShouldNotShareLoads() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals("book", coalescer.load("book", id, () -> "book"));
+        assertEquals("patron", coalescer.load("patron", id, () -> "patron"));
+        assertEquals(0, deduplicated());
+    }
+
+    private List<Future<String>> submitAll(Callable<String> task) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(task));
+        }
+        return results;
+    }
+
+    private void waitForWaiters(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (deduplicated() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double deduplicated() {
+        return meterRegistry.find("cache.coalescing.deduplicated")
+                .counters()
+                .stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.zbib.librarymanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties properties = new CacheProperties();
+        properties.getDefaults().setMaximumSize(100L);
+
+        CacheProperties.CacheSpec details = new CacheProperties.CacheSpec();
+        details.setMaximumSize(10L);
+        details.setExpireAfterAccess(Duration.ofMinutes(30));
+        properties.getCaches().put("book-details", details);
+
+        CacheProperties.CacheSpec list = new CacheProperties.CacheSpec();
+        list.setMaximumWeight(50L);
+        list.setExpireAfterWrite(Duration.ofMinutes(5));
+        properties.getCaches().put("books-list", list);
+
+        cacheManager = new CacheConfig().cacheManager(properties);
+    }
+
+    @Test
+    void configuredCache_ShouldApplyItsOwnSpec() {
+        Cache<Object, Object> cache = nativeCache("book-details");
+
+        assertEquals(10L, cache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(30L, cache.policy().expireAfterAccess().orElseThrow()
+                .getExpiresAfter(TimeUnit.MINUTES));
+        assertTrue(cache.policy().isRecordingStats());
+    }
+
+    @Test
+    void weightedCache_ShouldWeighCollectionsByElementCount() {
+        Cache<Object, Object> cache = nativeCache("books-list");
+        cache.put("page", List.of(1, 2, 3));
+
+        assertEquals(3, cache.policy().eviction().orElseThrow().weightOf("page").orElseThrow());
+    }
+
+    @Test
+    void unknownCache_ShouldFallBackToBoundedDefaults() {
+        Cache<Object, Object> cache = nativeCache("other");
+
+        assertEquals(100L, cache.policy().eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    void boundedCache_ShouldEvictBeyondMaximumSize() {
+        Cache<Object, Object> cache = nativeCache("book-details");
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 10);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
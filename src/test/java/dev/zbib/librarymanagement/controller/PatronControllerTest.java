@@ -0,0 +1,91 @@
+package dev.zbib.librarymanagement.controller;
+
+import dev.zbib.librarymanagement.bulk.ExportLimiter;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.dto.ImportReport;
+import dev.zbib.librarymanagement.service.PatronService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatronControllerTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String ROW = "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"email\":\"ada@example.com\"}\n";
+
+    @Mock
+    private PatronService patronService;
+
+    @Mock
+    private ExportLimiter exportLimiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PatronController(patronService, exportLimiter)).build();
+    }
+
+    @Test
+    void importPatrons_AcceptingJson_ShouldReturnTheReport() throws Exception {
+        when(patronService.importPatrons(any(), eq(RowFormat.NDJSON))).thenReturn(ImportReport.builder()
+                .rows(1)
+                .imported(1)
+                .errors(List.of())
+                .build());
+
+        mockMvc.perform(post("/patrons/import")
+                        .contentType(NDJSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(ROW))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.rows").value(1))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        verify(patronService, never()).streamPatronImport(any(), any(), any());
+    }
+
+    @Test
+    void importPatrons_AcceptingNdjson_ShouldStreamEvents() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(2);
+            output.write("{\"type\":\"DONE\",\"rows\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(patronService).streamPatronImport(any(), eq(RowFormat.CSV), any());
+
+        MvcResult started = mockMvc.perform(post("/patrons/import")
+                        .param("format", "CSV")
+                        .contentType(MediaType.parseMediaType("text/csv"))
+                        .accept(NDJSON)
+                        .content("firstName,lastName,email\r\nAda,Lovelace,ada@example.com\r\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(NDJSON))
+                .andExpect(content().string("{\"type\":\"DONE\",\"rows\":1}\n"));
+
+        verify(exportLimiter).extendTimeout();
+        verify(patronService, never()).importPatrons(any(), any());
+    }
+}
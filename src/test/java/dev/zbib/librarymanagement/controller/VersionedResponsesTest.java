@@ -0,0 +1,46 @@
+package dev.zbib.librarymanagement.controller;
+
+import dev.zbib.librarymanagement.dto.BookResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedResponsesTest {
+
+    @Test
+    void ok_ShouldTagTheBodyWithItsIdAndVersion() {
+        UUID id = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        ResponseEntity<BookResponse> response = VersionedResponses.ok(book(id, 3L));
+
+        assertEquals("\"" + id + "-3\"", response.getHeaders().getETag());
+        assertNotEquals(response.getHeaders().getETag(),
+                VersionedResponses.ok(book(other, 3L)).getHeaders().getETag());
+    }
+
+    @Test
+    void ok_WithoutVersion_ShouldOmitTheETag() {
+        ResponseEntity<BookResponse> response = VersionedResponses.ok(book(UUID.randomUUID(), null));
+        ResponseEntity<Page<BookResponse>> page = VersionedResponses.ok(
+                new PageImpl<>(List.of(book(UUID.randomUUID(), 1L), book(UUID.randomUUID(), null))));
+
+        assertNull(response.getHeaders().getETag());
+        assertNull(page.getHeaders().getETag());
+        assertNotNull(page.getBody());
+    }
+
+    private static BookResponse book(UUID id, Long version) {
+        return BookResponse.builder()
+                .id(id)
+                .title("Title")
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package dev.zbib.librarymanagement.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void getConnection_WithoutDeadline_ShouldReturnPooledConnectionAsIs() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        assertSame(connection, new DeadlineDataSource(target).getConnection());
+    }
+
+    @Test
+    void prepareStatement_UnderDeadline_ShouldSetQueryTimeoutToTimeLeft() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+        RequestDeadline.start(Duration.ofMillis(2500));
+
+        Connection wrapped = new DeadlineDataSource(target).getConnection();
+
+        assertSame(statement, wrapped.prepareStatement("select 1"));
+        assertEquals(wrapped, wrapped);
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void getConnection_AfterDeadline_ShouldFailWithoutHandingOutConnection() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        RequestDeadline.start(Duration.ofMillis(-1));
+
+        assertThrows(SQLTimeoutException.class, () -> new DeadlineDataSource(target).getConnection());
+        verify(connection).close();
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+}
@@ -0,0 +1,93 @@
+package dev.zbib.librarymanagement.deadline;
+
+import dev.zbib.librarymanagement.exception.DeadlineException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(meterRegistry,
+            "X-Request-Timeout",
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(60));
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void preHandle_ShouldPreferHeaderThenEndpointThenDefault() throws Exception {
+        request.addHeader("X-Request-Timeout", "1500");
+        assertBudget(handler("listing"), Duration.ofMillis(1500));
+
+        request.removeHeader("X-Request-Timeout");
+        request.addHeader("X-Request-Timeout", "5m");
+        assertBudget(handler("listing"), Duration.ofSeconds(60));
+
+        request.removeHeader("X-Request-Timeout");
+        assertBudget(handler("listing"), Duration.ofSeconds(5));
+        assertBudget(handler("plain"), Duration.ofSeconds(10));
+
+        interceptor.preHandle(request, response, handler("bulk"));
+        assertNull(RequestDeadline.remaining());
+    }
+
+    @Test
+    void preHandle_WithUnreadableOrNonPositiveHeader_ShouldReject() {
+        request.addHeader("X-Request-Timeout", "soon");
+        assertThrows(DeadlineException.InvalidBudget.class, () -> interceptor.preHandle(request, response, handler("plain")));
+
+        request.removeHeader("X-Request-Timeout");
+        request.addHeader("X-Request-Timeout", "0");
+        assertThrows(DeadlineException.InvalidBudget.class, () -> interceptor.preHandle(request, response, handler("plain")));
+    }
+
+    @Test
+    void afterCompletion_ShouldClearDeadlineAndCountOutcome() throws Exception {
+        request.addHeader("X-Request-Timeout", "1ms");
+        interceptor.preHandle(request, response, handler("plain"));
+        Thread.sleep(5);
+
+        interceptor.afterCompletion(request, response, handler("plain"), null);
+
+        assertNull(RequestDeadline.remaining());
+        assertEquals(1, meterRegistry.counter("request.deadline", "source", "header", "outcome", "exceeded").count());
+    }
+
+    private void assertBudget(HandlerMethod handler, Duration budget) {
+        interceptor.preHandle(request, response, handler);
+        Duration remaining = RequestDeadline.remaining();
+        assertTrue(remaining.compareTo(budget) <= 0 && remaining.compareTo(budget.minusSeconds(1)) > 0,
+                "remaining " + remaining + ", budget " + budget);
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    public static class Handlers {
+
+        @Deadline("5s")
+        public void listing() {
+        }
+
+        @Deadline("0")
+        public void bulk() {
+        }
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.zbib.librarymanagement.deadline;
+
+import dev.zbib.librarymanagement.cache.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void widen_ShouldExtendAShortDeadlineAndRestoreItAfterwards() {
+        RequestDeadline.start(Duration.ofMillis(10));
+
+        Duration inside = RequestDeadline.widen(Duration.ofSeconds(5), RequestDeadline::remaining);
+
+        assertTrue(inside.compareTo(Duration.ofSeconds(4)) > 0, inside.toString());
+        assertTrue(RequestDeadline.remaining().compareTo(Duration.ofMillis(10)) <= 0);
+    }
+
+    @Test
+    void widen_ShouldKeepALongerDeadlineAndLeaveNoDeadlineUnbounded() {
+        RequestDeadline.start(Duration.ofSeconds(30));
+        assertTrue(RequestDeadline.widen(Duration.ofSeconds(5), RequestDeadline::remaining)
+                .compareTo(Duration.ofSeconds(29)) > 0);
+
+        RequestDeadline.clear();
+        assertNull(RequestDeadline.widen(Duration.ofSeconds(5), RequestDeadline::remaining));
+        assertNull(RequestDeadline.remaining());
+    }
+
+    @Test
+    void coalescedLoad_WithShortDeadlineLeader_ShouldNotTimeOutDefaultDeadlineFollower() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(2));
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch followerWaiting = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> {
+            RequestDeadline.start(Duration.ofMillis(50));
+            try {
+                return coalescer.load("book", "key", () -> {
+                    leaderLoading.countDown();
+                    await(followerWaiting);
+                    sleep(100);
+                    // Where a statement would apply the deadline as its query timeout
+                    if (RequestDeadline.remaining().isNegative()) {
+                        throw new QueryTimeoutException("deadline passed");
+                    }
+                    return "value";
+                });
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+        Future<String> follower = executor.submit(() -> {
+            RequestDeadline.start(Duration.ofSeconds(10));
+            try {
+                await(leaderLoading);
+                followerWaiting.countDown();
+                return coalescer.load("book", "key", () -> "own");
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+
+        assertEquals("value", follower.get(2, TimeUnit.SECONDS));
+        assertEquals("value", leader.get(2, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package dev.zbib.librarymanagement.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.dto.CursorPage;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.exception.PaginationException;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPaginatorTest {
+
+    private static final KeysetSort KEYSET = KeysetSort.of(Sort.Order.asc("title"), "title", "publicationYear");
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private KeysetPaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        paginator = new KeysetPaginator(new ObjectMapper());
+    }
+
+    @Test
+    void scroll_WithMoreRowsThanSize_ShouldTrimAndReturnCursorForLastRow() {
+        List<Book> books = books(3);
+        doReturn(books).when(bookRepository).findBy(ArgumentMatchers.<Specification<Book>>any(), any());
+
+        CursorPage<String> page = scroll(new ScrollRequest(null, Sort.unsorted(), 2));
+
+        assertEquals(List.of("Book 0", "Book 1"), page.getContent());
+        assertTrue(page.isHasNext());
+        assertNotNull(page.getNextCursor());
+
+        doReturn(List.of(books.get(2))).when(bookRepository).findBy(ArgumentMatchers.<Specification<Book>>any(), any());
+        CursorPage<String> next = scroll(new ScrollRequest(page.getNextCursor(), Sort.unsorted(), 2));
+
+        assertEquals(List.of("Book 2"), next.getContent());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void scroll_WithTamperedCursor_ShouldThrowInvalidCursor() {
+        assertThrows(PaginationException.InvalidCursor.class,
+                () -> scroll(new ScrollRequest("not-a-cursor", Sort.unsorted(), 10)));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void scroll_WithUnindexedSortProperty_ShouldThrowUnsupportedSort() {
+        assertThrows(PaginationException.UnsupportedSort.class,
+                () -> scroll(new ScrollRequest(null, Sort.by("isbn"), 10)));
+        verifyNoInteractions(bookRepository);
+    }
+
+    private CursorPage<String> scroll(ScrollRequest request) {
+        return paginator.scroll(bookRepository, Book.class, null, request, KEYSET, Book::getTitle);
+    }
+
+    private static List<Book> books(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Book.builder()
+                        .id(UUID.randomUUID())
+                        .title("Book " + i)
+                        .publicationYear(2000 + i)
+                        .build())
+                .toList();
+    }
+}
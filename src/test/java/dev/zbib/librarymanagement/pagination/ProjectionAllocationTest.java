@@ -0,0 +1,108 @@
+package dev.zbib.librarymanagement.pagination;
+
+import dev.zbib.librarymanagement.builder.BookBuilder;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation benchmark for one 100-book page, read through managed entities copied into DTOs
+ * versus selected straight into DTOs. Runs against the Postgres configured by the dev profile,
+ * so it is skipped unless {@code POSTGRES_HOST} is set.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "app.cache.invalidation.enabled=false",
+        "app.cache.warm-up.enabled=false"})
+@ActiveProfiles("dev")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+class ProjectionAllocationTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 100, Sort.by("title"));
+    private static final Specification<Book> BENCHMARK_BOOKS = (root, query, cb) ->
+            cb.like(root.get("title"), "Allocation Benchmark %");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ProjectionPaginator projectionPaginator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        books = bookRepository.saveAll(IntStream.range(0, 150)
+                .mapToObj(i -> Book.builder()
+                        .title("Allocation Benchmark " + i)
+                        .author("Author " + i % 10)
+                        .publicationYear(1900 + i)
+                        .ISBN(UUID.randomUUID().toString().substring(0, 20))
+                        .build())
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll(books);
+    }
+
+    @Test
+    void projectedPage_ShouldAllocateLessThanEntityPage() {
+        // The entity path as it ran before: the page is read in a transaction, as under open-in-view
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Supplier<Page<BookResponse>> entities = () -> transaction.execute(status ->
+                bookRepository.findAll(BENCHMARK_BOOKS, PAGE).map(BookBuilder::buildBookResponse));
+        Supplier<Page<BookResponse>> projected = () ->
+                projectionPaginator.page(bookRepository, BookBuilder.BOOK_RESPONSE, BENCHMARK_BOOKS, PAGE);
+
+        assertEquals(entities.get().getContent(), projected.get().getContent());
+        long entityBytes = bytesPerPage(entities);
+        long projectedBytes = bytesPerPage(projected);
+
+        log.info("Allocated per 100-book page: {} KiB through entities, {} KiB projected",
+                entityBytes / 1024,
+                projectedBytes / 1024);
+        assertTrue(projectedBytes < entityBytes,
+                "projected " + projectedBytes + " bytes, entities " + entityBytes + " bytes");
+    }
+
+    private static long bytesPerPage(Supplier<Page<BookResponse>> query) {
+        for (int i = 0; i < 200; i++) {
+            query.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int rounds = 500;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < rounds; i++) {
+            query.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / rounds;
+    }
+}
@@ -0,0 +1,101 @@
+package dev.zbib.librarymanagement.pagination;
+
+import dev.zbib.librarymanagement.builder.BookBuilder;
+import dev.zbib.librarymanagement.builder.PatronBuilder;
+import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.dto.PatronResponse;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.entity.Patron;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionTest {
+
+    @Test
+    void responseProjections_ShouldMatchAConstructorOfTheirDto() {
+        assertEquals(7, BookBuilder.BOOK_RESPONSE.properties().size());
+        assertEquals(9, PatronBuilder.PATRON_RESPONSE.properties().size());
+    }
+
+    @Test
+    void bookResponse_ShouldMapEveryFieldLikeTheBuilder() {
+        Book book = Book.builder()
+                .id(UUID.randomUUID())
+                .title("The Left Hand of Darkness")
+                .author("Ursula K. Le Guin")
+                .publicationYear(1969)
+                .ISBN("9780441478125")
+                .version(4L)
+                .updatedAt(Instant.parse("2024-03-01T10:15:30Z"))
+                .build();
+
+        BookResponse projected = project(BookBuilder.BOOK_RESPONSE, book);
+
+        assertEquals(BookBuilder.buildBookResponse(book), projected);
+        assertEquals("The Left Hand of Darkness", projected.getTitle());
+        assertEquals("Ursula K. Le Guin", projected.getAuthor());
+        assertEquals("9780441478125", projected.getIsbn());
+    }
+
+    @Test
+    void patronResponse_ShouldMapEveryFieldLikeTheBuilder() {
+        Patron patron = Patron.builder()
+                .id(UUID.randomUUID())
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("ada@example.com")
+                .phoneNumber("+441234567890")
+                .address("12 St James's Square")
+                .membershipExpiryDate(LocalDateTime.of(2030, 1, 2, 3, 4))
+                .version(2L)
+                .updatedAt(Instant.parse("2024-03-01T10:15:30Z"))
+                .build();
+
+        PatronResponse projected = project(PatronBuilder.PATRON_RESPONSE, patron);
+
+        assertEquals(PatronBuilder.buildPatronResponse(patron), projected);
+        assertEquals("Ada", projected.getFirstName());
+        assertEquals("Lovelace", projected.getLastName());
+        assertEquals("+441234567890", projected.getPhoneNumber());
+        assertEquals("12 St James's Square", projected.getAddress());
+    }
+
+    @Test
+    void of_WithPropertiesOutOfConstructorOrder_ShouldFailFast() {
+        assertThrows(IllegalArgumentException.class, () -> Projection.of(Book.class,
+                BookResponse.class,
+                "id", "title", "author", "ISBN", "publicationYear", "version", "updatedAt"));
+    }
+
+    @Test
+    void of_WithUnknownProperty_ShouldFailFast() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> Projection.of(Book.class, BookResponse.class, "id", "subtitle"));
+
+        assertEquals("Book has no property subtitle", error.getMessage());
+        assertEquals(List.of("id"), Projection.of(Book.class, IdOnly.class, "id").properties());
+    }
+
+    // Builds the DTO the way the select does: each property read in order and passed to the constructor
+    private static <T, R> R project(Projection<T, R> projection, T entity) {
+        BeanWrapper row = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Class<?>[] types = projection.properties().stream().map(row::getPropertyType).toArray(Class<?>[]::new);
+        Object[] values = projection.properties().stream().map(row::getPropertyValue).toArray();
+        try {
+            return projection.type().getConstructor(types).newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public record IdOnly(UUID id) {
+    }
+}
@@ -0,0 +1,111 @@
+package dev.zbib.librarymanagement.pagination;
+
+import dev.zbib.librarymanagement.cache.PageQueryKey;
+import dev.zbib.librarymanagement.dto.SliceResponse;
+import dev.zbib.librarymanagement.entity.Patron;
+import dev.zbib.librarymanagement.repository.PatronRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlicePaginatorTest {
+
+    private static final PageQueryKey COUNT_KEY = PageQueryKey.forPatrons(Pageable.unpaged());
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManager entityManager;
+
+    @Mock
+    private PatronRepository patronRepository;
+
+    private SlicePaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        paginator = new SlicePaginator(entityManager, new ConcurrentMapCacheManager(SlicePaginator.COUNT_CACHE));
+    }
+
+    @Test
+    void slice_WithoutCount_ShouldReportNextPageFromExtraRowOnly() {
+        returnRows(11);
+
+        SliceResponse<UUID> slice = slice(PageRequest.of(2, 10), CountMode.NONE);
+
+        assertEquals(10, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        assertNull(slice.getTotalElements());
+        assertNull(slice.getTotalExact());
+        verify(patronRepository, never()).count(ArgumentMatchers.<Specification<Patron>>isNull());
+    }
+
+    @Test
+    void slice_WithEstimatedCountOnUnfilteredListing_ShouldUsePlannerEstimate() {
+        returnRows(11);
+        when(entityManager.createNativeQuery(anyString()).setParameter(1, "patrons").getSingleResult())
+                .thenReturn(5000L);
+
+        SliceResponse<UUID> slice = slice(PageRequest.of(0, 10), CountMode.ESTIMATED);
+
+        assertEquals(5000L, slice.getTotalElements());
+        assertEquals(500, slice.getTotalPages());
+        assertFalse(slice.getTotalExact());
+        verify(patronRepository, never()).count(ArgumentMatchers.<Specification<Patron>>isNull());
+    }
+
+    @Test
+    void slice_WithCachedCount_ShouldCountOncePerFilter() {
+        returnRows(11);
+        when(patronRepository.count(ArgumentMatchers.<Specification<Patron>>isNull())).thenReturn(42L);
+
+        slice(PageRequest.of(0, 10), CountMode.CACHED);
+        SliceResponse<UUID> slice = slice(PageRequest.of(1, 10), CountMode.CACHED);
+
+        assertEquals(42L, slice.getTotalElements());
+        assertFalse(slice.getTotalExact());
+        verify(patronRepository, times(1)).count(ArgumentMatchers.<Specification<Patron>>isNull());
+    }
+
+    @Test
+    void slice_OnLastPage_ShouldDeriveExactTotalWithoutCounting() {
+        returnRows(4);
+
+        SliceResponse<UUID> slice = slice(PageRequest.of(3, 10), CountMode.EXACT);
+
+        assertFalse(slice.isHasNext());
+        assertEquals(34L, slice.getTotalElements());
+        assertTrue(slice.getTotalExact());
+        verify(patronRepository, never()).count(ArgumentMatchers.<Specification<Patron>>isNull());
+    }
+
+    private SliceResponse<UUID> slice(Pageable pageable, CountMode count) {
+        return paginator.slice(patronRepository, Patron.class, null, COUNT_KEY, pageable, count, Patron::getId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnRows(int count) {
+        List<Patron> patrons = IntStream.range(0, count)
+                .mapToObj(i -> Patron.builder().id(UUID.randomUUID()).build())
+                .toList();
+        when(entityManager.createQuery(any(CriteriaQuery.class)).getResultList()).thenReturn(patrons);
+    }
+}
@@ -0,0 +1,47 @@
+package dev.zbib.librarymanagement.pagination;
+
+import dev.zbib.librarymanagement.exception.PaginationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortPolicyTest {
+
+    private static final SortPolicy POLICY = SortPolicy.of(Sort.Order.asc("title"),
+            List.of("title"),
+            List.of("author", "publicationYear"));
+
+    @Test
+    void apply_WhenUnsorted_ShouldUseDefaultOrderWithIdTiebreaker() {
+        assertEquals(PageRequest.of(2, 20, Sort.by("title", "id")), POLICY.apply(PageRequest.of(2, 20)));
+        assertEquals(Sort.by("title", "id"), POLICY.apply(Pageable.unpaged()).getSort());
+    }
+
+    @Test
+    void apply_WithIndexedSort_ShouldKeepDirectionForTheTiebreaker() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "author", "publicationYear", "id"),
+                POLICY.apply(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "author", "publicationYear")))
+                        .getSort());
+        assertEquals(Sort.by(Sort.Direction.DESC, "title", "id"),
+                POLICY.apply(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "title", "id"))).getSort());
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"),
+                POLICY.apply(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"))).getSort());
+    }
+
+    @Test
+    void apply_WithSortNoIndexServes_ShouldReject() {
+        assertThrows(PaginationException.UnsupportedSort.class,
+                () -> POLICY.apply(PageRequest.of(0, 20, Sort.by("publicationYear"))));
+        assertThrows(PaginationException.UnsupportedSort.class,
+                () -> POLICY.apply(PageRequest.of(0, 20, Sort.by("publicationYear", "author"))));
+        assertThrows(PaginationException.UnsupportedSort.class,
+                () -> POLICY.apply(PageRequest.of(0, 20, Sort.by(Sort.Order.asc("author"), Sort.Order.desc("publicationYear")))));
+        assertThrows(PaginationException.UnsupportedSort.class,
+                () -> POLICY.apply(PageRequest.of(0, 20, Sort.by(Sort.Order.asc("title").ignoreCase()))));
+    }
+}
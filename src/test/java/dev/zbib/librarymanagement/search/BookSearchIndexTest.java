@@ -0,0 +1,82 @@
+package dev.zbib.librarymanagement.search;
+
+import dev.zbib.librarymanagement.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookSearchIndexTest {
+
+    private final UUID gatsby = UUID.randomUUID();
+    private final UUID tenderIsTheNight = UUID.randomUUID();
+    private final UUID mockingbird = UUID.randomUUID();
+
+    private BookRepository bookRepository;
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        index = new BookSearchIndex(bookRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        when(bookRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new BookDocument(gatsby, "The Great Gatsby", "F. Scott Fitzgerald"),
+                new BookDocument(tenderIsTheNight, "Tender Is the Night", "F. Scott Fitzgerald"),
+                new BookDocument(mockingbird, "To Kill a Mockingbird", "Harper Lee")));
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveAuthorOnlyMatches() {
+        UUID essays = UUID.randomUUID();
+        index.index(essays, "Essays", "Gatsby Jones");
+
+        List<SearchHit> hits = index.search("gatsby", 10);
+
+        assertEquals(List.of(gatsby, essays), hits.stream().map(SearchHit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAccentsAndStopWords() {
+        List<SearchHit> hits = index.search("THE fitzgérald", 10);
+
+        assertEquals(List.of(gatsby, tenderIsTheNight).stream().sorted().toList(),
+                hits.stream().map(SearchHit::id).sorted().toList());
+    }
+
+    @Test
+    void search_ShouldReturnOnlyTopK() {
+        List<SearchHit> hits = index.search("gatsby night mockingbird", 2);
+
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    void index_AfterUpdateAndRemove_ShouldReflectLatestTitles() {
+        index.index(gatsby, "The Beautiful and Damned", "F. Scott Fitzgerald");
+        index.remove(mockingbird);
+
+        assertTrue(index.search("gatsby", 10).isEmpty());
+        assertTrue(index.search("mockingbird", 10).isEmpty());
+        assertEquals(gatsby, index.search("damned", 10).get(0).id());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void reindex_WhenBookWasDeletedElsewhere_ShouldDropIt() {
+        when(bookRepository.findSearchDocumentById(mockingbird)).thenReturn(Optional.empty());
+
+        index.reindex(mockingbird);
+
+        assertTrue(index.search("mockingbird", 10).isEmpty());
+    }
+}
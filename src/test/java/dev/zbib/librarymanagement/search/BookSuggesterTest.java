@@ -0,0 +1,104 @@
+package dev.zbib.librarymanagement.search;
+
+import dev.zbib.librarymanagement.dto.BookSuggestion;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.repository.BorrowingRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookSuggesterTest {
+
+    private final UUID gatsby = UUID.randomUUID();
+    private final UUID greatExpectations = UUID.randomUUID();
+    private final UUID tenderIsTheNight = UUID.randomUUID();
+
+    private BookSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        BookRepository bookRepository = mock(BookRepository.class);
+        BorrowingRecordRepository borrowingRecordRepository = mock(BorrowingRecordRepository.class);
+        when(bookRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new BookDocument(gatsby, "The Great Gatsby", "F. Scott Fitzgerald"),
+                new BookDocument(greatExpectations, "Great Expectations", "Charles Dickens"),
+                new BookDocument(tenderIsTheNight, "Tender Is the Night", "F. Scott Fitzgerald")));
+        when(borrowingRecordRepository.countBorrowsByBook()).thenReturn(List.of(
+                new BookPopularity(greatExpectations, 5),
+                new BookPopularity(gatsby, 2),
+                new BookPopularity(tenderIsTheNight, 1)));
+        suggester = new BookSuggester(bookRepository,
+                borrowingRecordRepository,
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        suggester.rebuild();
+    }
+
+    @Test
+    void suggest_ShouldMatchWordStartsAndRankByBorrows() {
+        assertEquals(List.of("Great Expectations", "The Great Gatsby"), texts(suggester.suggest("gre", 10)));
+        assertEquals(List.of("The Great Gatsby"), texts(suggester.suggest("The  GREAT g", 10)));
+    }
+
+    @Test
+    void suggest_ShouldAddUpBorrowsOfAllBooksByAnAuthor() {
+        List<BookSuggestion> suggestions = suggester.suggest("fitz", 10);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(BookSuggestion.Type.AUTHOR, suggestions.get(0).getType());
+        assertEquals(3, suggestions.get(0).getBorrows());
+    }
+
+    @Test
+    void recordBorrow_ShouldPromoteSuggestion() {
+        for (int i = 0; i < 4; i++) {
+            suggester.recordBorrow(gatsby);
+        }
+
+        assertEquals(List.of("The Great Gatsby", "Great Expectations"), texts(suggester.suggest("great", 10)));
+    }
+
+    @Test
+    void index_AfterRenameAndRemove_ShouldDropOldEntriesAndPruneTrie() {
+        long nodesBefore = suggester.footprint().nodes();
+
+        suggester.index(gatsby, "Trimalchio", "F. Scott Fitzgerald");
+        suggester.remove(greatExpectations);
+
+        assertTrue(suggester.suggest("great", 10).isEmpty());
+        assertEquals(List.of("Trimalchio"), texts(suggester.suggest("tri", 10)));
+        assertTrue(suggester.footprint().nodes() < nodesBefore);
+    }
+
+    @Test
+    void suggest_WithEqualBorrows_ShouldOrderAlphabetically() {
+        UUID first = UUID.randomUUID();
+        suggester.index(first, "Night Watch", "Author 129");
+        suggester.index(UUID.randomUUID(), "Night Shift", "Author 123");
+        suggester.index(UUID.randomUUID(), "Night Train", "Author 12");
+
+        assertEquals(List.of("Author 12", "Author 123", "Author 129"), texts(suggester.suggest("author 12", 10)));
+        assertEquals(List.of("Night Shift", "Night Train", "Night Watch"), texts(suggester.suggest("night", 10)).subList(1, 4));
+
+        suggester.remove(first);
+        assertEquals(List.of("Author 12", "Author 123"), texts(suggester.suggest("auth", 10)));
+    }
+
+    @Test
+    void suggest_ShouldStopAtLimit() {
+        assertEquals(1, suggester.suggest("g", 1).size());
+        assertTrue(suggester.footprint().bytes() > 0);
+    }
+
+    private static List<String> texts(List<BookSuggestion> suggestions) {
+        return suggestions.stream().map(BookSuggestion::getText).toList();
+    }
+}
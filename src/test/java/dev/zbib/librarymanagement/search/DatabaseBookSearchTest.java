@@ -0,0 +1,133 @@
+package dev.zbib.librarymanagement.search;
+
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the Postgres configured by the dev profile, so it is skipped unless
+ * {@code POSTGRES_HOST} is set.
+ */
+@SpringBootTest(properties = {
+        "app.search.mode=database",
+        "app.cache.invalidation.enabled=false",
+        "app.cache.warm-up.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "dev.zbib.librarymanagement.search.DatabaseBookSearchTest$LastSearchQuery"})
+@ActiveProfiles("dev")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+class DatabaseBookSearchTest {
+
+    @Autowired
+    private BookSearch bookSearch;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllById(created);
+    }
+
+    @Test
+    void search_ShouldRankFullTextAndFuzzyMatches() {
+        UUID gatsby = save("The Crystal Gatsby", "Winifred Quill");
+        UUID quillAuthored = save("Harbour Lights", "Crystal Quillfeather");
+
+        assertEquals(gatsby, bookSearch.search("crystal gatsby", 5).get(0).id());
+        assertEquals(gatsby, bookSearch.search("crystal gatsbi", 5).get(0).id());
+        assertTrue(bookSearch.search("quill", 5).stream().map(SearchHit::id).toList()
+                .containsAll(List.of(gatsby, quillAuthored)));
+    }
+
+    @Test
+    void search_ShouldBeServedByGinIndexes() {
+        bookSearch.search("gatsby", 5);
+
+        String plan = explain(LastSearchQuery.sql);
+
+        assertTrue(plan.contains("Bitmap Index Scan on idx_book_search_text"), plan);
+        assertTrue(plan.contains("Bitmap Index Scan on idx_book_title_trgm"), plan);
+        assertTrue(plan.contains("Bitmap Index Scan on idx_book_author_trgm"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    private UUID save(String title, String author) {
+        Book book = bookRepository.save(Book.builder()
+                .title(title)
+                .author(author)
+                .publicationYear(1950)
+                .ISBN(UUID.randomUUID().toString().substring(0, 20))
+                .build());
+        created.add(book.getId());
+        return book.getId();
+    }
+
+    // Plans the captured statement as a generic plan, which does not depend on the parameter values,
+    // with sequential scans ruled out: the plan only avoids them if the indexes can serve the query
+    private String explain(String sql) {
+        Matcher placeholders = Pattern.compile("\\?").matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        while (placeholders.find()) {
+            placeholders.appendReplacement(numbered, "\\$" + ++parameters);
+        }
+        placeholders.appendTail(numbered);
+        String nulls = String.join(", ", Collections.nCopies(parameters, "NULL"));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE search_plan AS " + numbered);
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE search_plan(" + nulls + ")")) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE search_plan");
+                    statement.execute("RESET plan_cache_mode");
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+
+    public static class LastSearchQuery implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            if (statement.contains("websearch_to_tsquery")) {
+                sql = statement;
+            }
+            return statement;
+        }
+    }
+}
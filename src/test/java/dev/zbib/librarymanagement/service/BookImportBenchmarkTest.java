@@ -0,0 +1,78 @@
+package dev.zbib.librarymanagement.service;
+
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.dto.BookCreationRequest;
+import dev.zbib.librarymanagement.dto.ImportReport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of the bulk import against one {@code createBook} call per row. Runs against the
+ * Postgres configured by the dev profile, so it is skipped unless {@code POSTGRES_HOST} is set.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "app.cache.invalidation.enabled=false",
+        "app.cache.warm-up.enabled=false"})
+@ActiveProfiles("dev")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+class BookImportBenchmarkTest {
+
+    private static final int IMPORTED = 50_000;
+    private static final int CREATED = 2_000;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM books WHERE title LIKE 'Benchmark %'");
+    }
+
+    @Test
+    void importBooks_ShouldOutpaceOneCreatePerRow() throws Exception {
+        String body = IntStream.range(0, IMPORTED)
+                .mapToObj(i -> "Benchmark Import %d,Author %d,%d,978%010d".formatted(i, i % 500, 1900 + i % 120, i))
+                .collect(Collectors.joining("\n", "title,author,publicationYear,isbn\n", "\n"));
+
+        long importStart = System.nanoTime();
+        ImportReport report = bookService.importBooks(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), RowFormat.CSV);
+        double importRate = IMPORTED / seconds(importStart);
+
+        long createStart = System.nanoTime();
+        for (int i = 0; i < CREATED; i++) {
+            bookService.createBook(BookCreationRequest.builder()
+                    .title("Benchmark Create " + i)
+                    .author("Author " + i % 500)
+                    .publicationYear(1900 + i % 120)
+                    .isbn("979%010d".formatted(i))
+                    .build());
+        }
+        double createRate = CREATED / seconds(createStart);
+
+        log.info("Bulk import: {} rows/s, createBook: {} rows/s", Math.round(importRate), Math.round(createRate));
+        assertEquals(IMPORTED, report.getImported());
+        assertTrue(importRate > 5 * createRate, "import " + importRate + " rows/s, create " + createRate + " rows/s");
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
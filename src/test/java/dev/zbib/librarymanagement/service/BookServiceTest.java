@@ -1,28 +1,63 @@
 package dev.zbib.librarymanagement.service;
 
+import dev.zbib.librarymanagement.builder.BookBuilder;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.bulk.RowImporter;
+import dev.zbib.librarymanagement.cache.BooksListChange;
+import dev.zbib.librarymanagement.cache.CacheInvalidation;
+import dev.zbib.librarymanagement.cache.CacheInvalidationBus;
+import dev.zbib.librarymanagement.cache.RequestCoalescer;
+import dev.zbib.librarymanagement.cache.BooksListCache;
+import dev.zbib.librarymanagement.dto.BatchGetItem;
 import dev.zbib.librarymanagement.dto.BookCreationRequest;
 import dev.zbib.librarymanagement.dto.BookFilterRequest;
 import dev.zbib.librarymanagement.dto.BookResponse;
+import dev.zbib.librarymanagement.dto.BookSearchResult;
+import dev.zbib.librarymanagement.dto.BookSnapshot;
 import dev.zbib.librarymanagement.dto.BookUpdateRequest;
+import dev.zbib.librarymanagement.dto.ImportReport;
 import dev.zbib.librarymanagement.entity.Book;
 import dev.zbib.librarymanagement.exception.BookException;
+import dev.zbib.librarymanagement.pagination.ProjectionPaginator;
 import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.search.BookSearch;
+import dev.zbib.librarymanagement.search.BookSuggester;
+import dev.zbib.librarymanagement.search.SearchHit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static dev.zbib.librarymanagement.builder.BookBuilder.buildBookResponse;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +69,37 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Spy
+    private BooksListCache booksListCache = new BooksListCache(new ConcurrentMapCacheManager(),
+            Runnable::run,
+            new SimpleMeterRegistry(),
+            Duration.ofMinutes(1),
+            Duration.ofMinutes(5));
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(1));
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private BookSearch bookSearch;
+
+    @Mock
+    private BookSuggester bookSuggester;
+
+    @Mock
+    private ProjectionPaginator projectionPaginator;
+
+    @Spy
+    private RowImporter rowImporter = new RowImporter(Jackson2ObjectMapperBuilder.json().build(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            500,
+            100);
+
+    @Spy
+    private CacheManager cacheManager = new CaffeineCacheManager(BookService.BOOK_CACHE);
+
     @InjectMocks
     private BookService bookService;
 
@@ -78,6 +144,7 @@ class BookServiceTest {
         assertEquals(testBook.getId(), response.getId());
         assertEquals(testBook.getTitle(), response.getTitle());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookSearch).index(testBook.getId(), testBook.getTitle(), testBook.getAuthor());
     }
 
     @Test
@@ -113,6 +180,31 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findById(bookId);
     }
 
+    @Test
+    void getBookRequestById_WithConcurrentCallers_ShouldShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookRepository.findById(bookId)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return Optional.of(testBook);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BookResponse> leader = executor.submit(() -> bookService.getBookRequestById(bookId));
+            loading.await(2, TimeUnit.SECONDS);
+            Future<BookSnapshot> follower = executor.submit(() -> bookService.getBookSnapshot(bookId));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals(testBook.getTitle(), leader.get(2, TimeUnit.SECONDS).getTitle());
+            assertEquals(testBook.getISBN(), follower.get(2, TimeUnit.SECONDS).isbn());
+            verify(bookRepository, times(1)).findById(bookId);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void getBooks_ShouldReturnPageOfBookResponses() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -122,16 +214,14 @@ class BookServiceTest {
                 .build();
         Page<Book> bookPage = new PageImpl<>(List.of(testBook));
 
-        when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(bookPage);
+        returnPage(bookPage);
 
         Page<BookResponse> result = bookService.getBooks(filterRequest, pageable);
 
         assertNotNull(result);
         assertFalse(result.getContent().isEmpty());
         assertEquals(1, result.getContent().size());
-        verify(bookRepository, times(1))
-                .findAll(any(Specification.class), any(Pageable.class));
+        verify(projectionPaginator, times(1)).page(any(), any(), any(), any());
     }
 
     @Test
@@ -163,6 +253,41 @@ class BookServiceTest {
         bookService.deleteBook(bookId);
 
         verify(bookRepository, times(1)).deleteById(bookId);
+        verify(bookSearch).remove(bookId);
+    }
+
+    @Test
+    void searchBooks_ShouldKeepIndexRankingAndSkipBooksDeletedSinceIndexing() {
+        Book other = Book.builder()
+                .id(UUID.randomUUID())
+                .title("Other")
+                .author("Author")
+                .ISBN("0987654321")
+                .publicationYear(1999)
+                .build();
+        UUID deleted = UUID.randomUUID();
+        when(bookSearch.search("query", 10)).thenReturn(List.of(new SearchHit(other.getId(), 3.0),
+                new SearchHit(deleted, 2.0),
+                new SearchHit(bookId, 1.0)));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(testBook, other));
+
+        List<BookSearchResult> results = bookService.searchBooks("query", 10);
+
+        assertThat(results).extracting(result -> result.getBook().getId()).containsExactly(other.getId(), bookId);
+        assertEquals(3.0, results.get(0).getScore());
+    }
+
+    @Test
+    void deleteBook_ShouldPublishInvalidationForOtherNodes() {
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+
+        bookService.deleteBook(bookId);
+
+        ArgumentCaptor<CacheInvalidation> invalidation = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(cacheInvalidationBus).publish(invalidation.capture());
+        assertEquals(bookId, invalidation.getValue().key());
+        assertThat(invalidation.getValue().caches()).contains(BookService.BOOK_CACHE, BookService.BOOK_SNAPSHOT_CACHE);
+        assertEquals(BooksListChange.deleted(buildBookResponse(testBook)), invalidation.getValue().booksList());
     }
 
     @Test
@@ -221,15 +346,189 @@ class BookServiceTest {
         BookFilterRequest emptyFilter = BookFilterRequest.builder().build();
         Page<Book> bookPage = new PageImpl<>(List.of(testBook));
 
-        when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(bookPage);
+        returnPage(bookPage);
 
         Page<BookResponse> result = bookService.getBooks(emptyFilter, pageable);
 
         assertNotNull(result);
         assertFalse(result.getContent().isEmpty());
         assertEquals(1, result.getContent().size());
-        verify(bookRepository, times(1))
-                .findAll(any(Specification.class), any(Pageable.class));
+        verify(projectionPaginator, times(1)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void getBooks_WhenPageIsCached_ShouldNotQueryAgain() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFilterRequest filter = BookFilterRequest.builder().fromYear(2000).build();
+        returnPage(new PageImpl<>(List.of(testBook)));
+
+        bookService.getBooks(filter, pageable);
+        bookService.getBooks(filter, pageable);
+
+        verify(projectionPaginator, times(1)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void createBook_ShouldInvalidateOnlyPagesCoveringItsYear() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFilterRequest covering = BookFilterRequest.builder().fromYear(2000).build();
+        BookFilterRequest older = BookFilterRequest.builder().toYear(1950).build();
+        Book newBook = Book.builder()
+                .id(UUID.randomUUID())
+                .title("New Book")
+                .author("New Author")
+                .ISBN("0987654321")
+                .publicationYear(2024)
+                .build();
+        returnPage(new PageImpl<>(List.of(testBook)));
+        when(bookRepository.save(any(Book.class))).thenReturn(newBook);
+
+        bookService.getBooks(covering, pageable);
+        bookService.getBooks(older, pageable);
+        bookService.createBook(creationRequest);
+        bookService.getBooks(covering, pageable);
+        bookService.getBooks(older, pageable);
+
+        verify(projectionPaginator, times(3)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateBook_WhenAuthorChanges_ShouldInvalidatePagesFilteredByEitherAuthor() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFilterRequest oldAuthor = BookFilterRequest.builder().author(testBook.getAuthor()).build();
+        BookFilterRequest newAuthor = BookFilterRequest.builder().author("Someone Else").build();
+        BookFilterRequest unrelated = BookFilterRequest.builder().author("Unrelated").build();
+        Book otherBook = Book.builder()
+                .id(UUID.randomUUID())
+                .title("Other Book")
+                .author("Other Author")
+                .ISBN("3333333333")
+                .publicationYear(1990)
+                .build();
+        returnPage(new PageImpl<>(List.of(otherBook)));
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookService.getBooks(oldAuthor, pageable);
+        bookService.getBooks(newAuthor, pageable);
+        bookService.getBooks(unrelated, pageable);
+        bookService.updateBook(bookId, BookUpdateRequest.builder().author("Someone Else").build());
+        bookService.getBooks(oldAuthor, pageable);
+        bookService.getBooks(newAuthor, pageable);
+        bookService.getBooks(unrelated, pageable);
+
+        verify(projectionPaginator, times(5)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateBook_ShouldInvalidatePagesContainingTheBook() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFilterRequest filter = BookFilterRequest.builder().build();
+        returnPage(new PageImpl<>(List.of(testBook)));
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookService.getBooks(filter, pageable);
+        bookService.updateBook(bookId, BookUpdateRequest.builder().title("Renamed").build());
+        bookService.getBooks(filter, pageable);
+
+        verify(projectionPaginator, times(2)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateBook_ShouldKeepPagesThatCannotContainTheBook() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFilterRequest older = BookFilterRequest.builder().toYear(1950).build();
+        Book oldBook = Book.builder()
+                .id(UUID.randomUUID())
+                .title("Old Book")
+                .author("Old Author")
+                .ISBN("2222222222")
+                .publicationYear(1900)
+                .build();
+        returnPage(new PageImpl<>(List.of(oldBook)));
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookService.getBooks(older, pageable);
+        bookService.updateBook(bookId, BookUpdateRequest.builder().title("Renamed").build());
+        bookService.getBooks(older, pageable);
+
+        verify(projectionPaginator, times(1)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void getBooks_WithDifferentSort_ShouldNotShareCachedPage() {
+        BookFilterRequest filter = BookFilterRequest.builder().build();
+        returnPage(new PageImpl<>(List.of(testBook)));
+
+        bookService.getBooks(filter, PageRequest.of(0, 10, Sort.by("title").ascending()));
+        bookService.getBooks(filter, PageRequest.of(0, 10, Sort.by("title").descending()));
+
+        verify(projectionPaginator, times(2)).page(any(), any(), any(), any());
+    }
+
+    @Test
+    void getBookSnapshot_WhenBookExists_ShouldReturnImmutableSnapshot() {
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+
+        BookSnapshot snapshot = bookService.getBookSnapshot(bookId);
+
+        assertEquals(bookId, snapshot.id());
+        assertEquals(testBook.getTitle(), snapshot.title());
+        assertEquals(testBook.getISBN(), snapshot.isbn());
+    }
+
+    @Test
+    void getBookReference_ShouldNotLoadTheBook() {
+        when(bookRepository.getReferenceById(bookId)).thenReturn(testBook);
+
+        bookService.getBookReference(bookId);
+
+        verify(bookRepository, never()).findById(any());
+    }
+
+    private void returnPage(Page<Book> books) {
+        when(projectionPaginator.page(eq(bookRepository), eq(BookBuilder.BOOK_RESPONSE), any(), any()))
+                .thenReturn(books.map(BookBuilder::buildBookResponse));
+    }
+
+    @Test
+    void importBooks_ShouldReportIsbnsAlreadyInCatalogAndRebuildSearchIndexes() throws Exception {
+        String body = """
+                {"title":"New","author":"A","publicationYear":2001,"isbn":"9781111111111"}
+                {"title":"Existing","author":"B","publicationYear":2002,"isbn":"9781111111112"}
+                """;
+        when(bookRepository.insertSkippingDuplicateIsbns(any())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            return Set.of(books.get(0).getId());
+        });
+
+        ImportReport report = bookService.importBooks(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), RowFormat.NDJSON);
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("isbn: A book with ISBN 9781111111112 already exists", report.getErrors().get(0).getMessage());
+        verify(bookSearch).rebuild();
+        verify(bookSuggester).rebuild();
+        verify(cacheInvalidationBus).publish(CacheInvalidation.clear(BooksListCache.NAME, CacheInvalidation.SEARCH_INDEXES));
+    }
+
+    @Test
+    void getBooksByIds_ShouldQueryOnlyCacheMissesAndKeepRequestOrder() {
+        Book cached = Book.builder().id(UUID.randomUUID()).title("Cached").build();
+        UUID unknown = UUID.randomUUID();
+        cacheManager.getCache(BookService.BOOK_CACHE).put(cached.getId(), buildBookResponse(cached));
+        when(bookRepository.findAllById(List.of(unknown, bookId))).thenReturn(List.of(testBook));
+
+        List<BatchGetItem<BookResponse>> items = bookService.getBooksByIds(List.of(unknown, cached.getId(), bookId, unknown));
+
+        assertEquals(List.of(unknown, cached.getId(), bookId, unknown), items.stream().map(BatchGetItem::getId).toList());
+        assertEquals(List.of(false, true, true, false), items.stream().map(BatchGetItem::isFound).toList());
+        assertEquals("Cached", items.get(1).getValue().getTitle());
+        assertEquals("Test Book", items.get(2).getValue().getTitle());
+        assertNotNull(cacheManager.getCache(BookService.BOOK_CACHE).get(bookId));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,171 @@
+package dev.zbib.librarymanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
+import dev.zbib.librarymanagement.dto.BorrowingRecordResponse;
+import dev.zbib.librarymanagement.entity.Book;
+import dev.zbib.librarymanagement.entity.BorrowingRecord;
+import dev.zbib.librarymanagement.entity.BorrowingStatus;
+import dev.zbib.librarymanagement.entity.Patron;
+import dev.zbib.librarymanagement.repository.BookRepository;
+import dev.zbib.librarymanagement.repository.BorrowingRecordRepository;
+import dev.zbib.librarymanagement.repository.PatronRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the Postgres configured by the dev profile, so it is skipped unless
+ * {@code POSTGRES_HOST} is set.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.cache.invalidation.enabled=false",
+        "app.cache.warm-up.enabled=false"})
+@ActiveProfiles("dev")
+@EnabledIfEnvironmentVariable(named = "POSTGRES_HOST", matches = ".+")
+class BorrowingRecordListingTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Patron reader;
+    private Patron other;
+    private final List<Book> books = new ArrayList<>();
+    private final List<BorrowingRecord> records = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reader = patronRepository.save(patron("Ada", "Reader"));
+        other = patronRepository.save(patron("Otto", "Other"));
+        books.addAll(bookRepository.saveAll(IntStream.range(0, 40)
+                .mapToObj(i -> Book.builder()
+                        .title("Listing Book " + i)
+                        .author("Listing Author")
+                        .publicationYear(1990)
+                        .ISBN(UUID.randomUUID().toString().substring(0, 20))
+                        .build())
+                .toList()));
+        // Even days are returned, odd days still out; only the last five are not yet due
+        for (int i = 0; i < books.size(); i++) {
+            records.add(record(books.get(i), reader, i, i % 2 == 0 ? BorrowingStatus.RETURNED : BorrowingStatus.BORROWED, i >= 35));
+        }
+        records.add(record(books.get(0), other, 0, BorrowingStatus.BORROWED, false));
+        borrowingRecordRepository.saveAll(records);
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAll(records);
+        bookRepository.deleteAll(books);
+        patronRepository.deleteAll(List.of(reader, other));
+    }
+
+    @Test
+    void getBorrowingRecords_ShouldRunTheSameStatementsForAnyPageSize() throws Exception {
+        BorrowingRecordFilter filter = BorrowingRecordFilter.builder()
+                .patronId(reader.getId())
+                .build();
+
+        long small = statementsToRenderPage(filter, 5);
+        long large = statementsToRenderPage(filter, 30);
+
+        // One select joining book and patron, one count
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getBorrowingRecords_ShouldHonorEveryFilterField() {
+        Function<BorrowingRecordFilter.BorrowingRecordFilterBuilder, List<UUID>> ids = builder ->
+                borrowingRecordService.getBorrowingRecords(builder.patronId(reader.getId()).build(),
+                                PageRequest.of(0, 100, Sort.by("borrowDate")))
+                        .map(BorrowingRecordResponse::getId)
+                        .getContent();
+
+        assertEquals(List.of(records.get(3).getId()), ids.apply(BorrowingRecordFilter.builder()
+                .bookId(books.get(3).getId())));
+        assertEquals(List.of(records.get(40).getId()), borrowingRecordService.getBorrowingRecords(
+                        BorrowingRecordFilter.builder().patronId(other.getId()).build(), PageRequest.of(0, 100))
+                .map(BorrowingRecordResponse::getId)
+                .getContent());
+        assertEquals(20, ids.apply(BorrowingRecordFilter.builder().status(BorrowingStatus.RETURNED)).size());
+        assertEquals(idsOf(10, 11, 12), ids.apply(BorrowingRecordFilter.builder()
+                .fromDate(START.plusDays(10))
+                .toDate(START.plusDays(12))));
+        // Borrowed (odd) and already due: 1, 3, ..., 33
+        assertEquals(17, ids.apply(BorrowingRecordFilter.builder().isOverdue(true)).size());
+        assertEquals(23, ids.apply(BorrowingRecordFilter.builder().isOverdue(false)).size());
+    }
+
+    private long statementsToRenderPage(BorrowingRecordFilter filter, int size) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<BorrowingRecordResponse> page = borrowingRecordService.getBorrowingRecords(filter,
+                PageRequest.of(0, size, Sort.by("borrowDate")));
+        objectMapper.writeValueAsString(page.getContent());
+        assertEquals(size, page.getNumberOfElements());
+        assertEquals("Ada Reader", page.getContent().get(0).getPatronName());
+        assertEquals("Listing Book 0", page.getContent().get(0).getBookTitle());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<UUID> idsOf(int... indexes) {
+        return IntStream.of(indexes).mapToObj(i -> records.get(i).getId()).toList();
+    }
+
+    private static Patron patron(String firstName, String lastName) {
+        return Patron.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@listing.test")
+                .build();
+    }
+
+    private static BorrowingRecord record(Book book, Patron patron, int day, BorrowingStatus status, boolean notYetDue) {
+        LocalDateTime borrowDate = START.plusDays(day);
+        return BorrowingRecord.builder()
+                .book(book)
+                .patron(patron)
+                .borrowDate(borrowDate)
+                .dueDate(notYetDue ? LocalDateTime.now().plusDays(14) : borrowDate.plusDays(14))
+                .status(status)
+                .build();
+    }
+}
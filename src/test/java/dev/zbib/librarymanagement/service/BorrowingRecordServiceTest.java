@@ -1,13 +1,20 @@
 package dev.zbib.librarymanagement.service;
 
+import dev.zbib.librarymanagement.builder.BorrowingRecordBuilder;
 import dev.zbib.librarymanagement.dto.BookBorrowingRequest;
+import dev.zbib.librarymanagement.dto.BookSnapshot;
 import dev.zbib.librarymanagement.dto.BorrowingRecordFilter;
+import dev.zbib.librarymanagement.dto.BorrowingRecordResponse;
+import dev.zbib.librarymanagement.dto.PatronResponse;
 import dev.zbib.librarymanagement.entity.Book;
 import dev.zbib.librarymanagement.entity.BorrowingRecord;
 import dev.zbib.librarymanagement.entity.BorrowingStatus;
 import dev.zbib.librarymanagement.entity.Patron;
+import dev.zbib.librarymanagement.exception.BookException;
 import dev.zbib.librarymanagement.exception.BorrowingRecordException;
+import dev.zbib.librarymanagement.pagination.ProjectionPaginator;
 import dev.zbib.librarymanagement.repository.BorrowingRecordRepository;
+import dev.zbib.librarymanagement.search.BookSuggester;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +25,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +37,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +52,12 @@ class BorrowingRecordServiceTest {
     @Mock
     private PatronService patronService;
 
+    @Mock
+    private BookSuggester bookSuggester;
+
+    @Mock
+    private ProjectionPaginator projectionPaginator;
+
     @InjectMocks
     private BorrowingRecordService borrowingRecordService;
 
@@ -87,16 +104,33 @@ class BorrowingRecordServiceTest {
 
     @Test
     void borrowBook_WhenValidRequest_ShouldCreateBorrowingRecord() {
-        when(bookService.getBookById(bookId)).thenReturn(testBook);
-        when(patronService.getPatronById(patronId)).thenReturn(testPatron);
+        when(bookService.getBookSnapshot(bookId)).thenReturn(new BookSnapshot(bookId,
+                testBook.getTitle(),
+                testBook.getAuthor(),
+                testBook.getPublicationYear(),
+                testBook.getISBN()));
+        when(bookService.getBookReference(bookId)).thenReturn(testBook);
+        when(patronService.getPatronRequestById(patronId)).thenReturn(PatronResponse.builder()
+                .id(patronId)
+                .build());
+        when(patronService.getPatronReference(patronId)).thenReturn(testPatron);
         when(borrowingRecordRepository.existsByBookIdAndStatus(bookId, BorrowingStatus.BORROWED))
                 .thenReturn(false);
         when(borrowingRecordRepository.countActiveBooksByPatron(patronId)).thenReturn(0L);
         when(borrowingRecordRepository.countOverdueBooksByPatron(patronId)).thenReturn(0L);
 
-        borrowingRecordService.borrowBook(borrowingRequest, bookId, patronId);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            borrowingRecordService.borrowBook(borrowingRequest, bookId, patronId);
 
-        verify(borrowingRecordRepository, times(1)).save(any(BorrowingRecord.class));
+            verify(borrowingRecordRepository, times(1)).save(any(BorrowingRecord.class));
+            verify(bookSuggester, never()).recordBorrow(bookId);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(bookSuggester).recordBorrow(bookId);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -189,33 +223,56 @@ class BorrowingRecordServiceTest {
         BorrowingRecordFilter filter = BorrowingRecordFilter.builder()
                 .status(BorrowingStatus.BORROWED)
                 .build();
-        Page<BorrowingRecord> expectedPage = new PageImpl<>(List.of(testBorrowingRecord));
+        Page<BorrowingRecordResponse> expectedPage = new PageImpl<>(
+                List.of(BorrowingRecordBuilder.buildBorrowingRecordResponse(testBorrowingRecord)));
 
-        when(borrowingRecordRepository.findAll(any(Specification.class), any(Pageable.class)))
+        when(projectionPaginator.page(eq(borrowingRecordRepository),
+                eq(BorrowingRecordBuilder.BORROWING_RECORD_RESPONSE),
+                any(),
+                eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "borrowDate", "id")))))
                 .thenReturn(expectedPage);
 
-        Page<BorrowingRecord> result = borrowingRecordService.getBorrowingRecords(filter, pageable);
+        Page<BorrowingRecordResponse> result = borrowingRecordService.getBorrowingRecords(filter, pageable);
 
         assertNotNull(result);
-        assertFalse(result.getContent().isEmpty());
         assertEquals(1, result.getContent().size());
-        verify(borrowingRecordRepository, times(1))
-                .findAll(any(Specification.class), any(Pageable.class));
+        assertEquals(bookId, result.getContent().get(0).getBookId());
+        assertEquals("John Doe", result.getContent().get(0).getPatronName());
+        verify(borrowingRecordRepository, never()).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
     void getBorrowingRecords_WithEmptyFilter_ShouldReturnAllRecords() {
         Pageable pageable = PageRequest.of(0, 10);
         BorrowingRecordFilter emptyFilter = BorrowingRecordFilter.builder().build();
-        Page<BorrowingRecord> expectedPage = new PageImpl<>(List.of(testBorrowingRecord));
+        Page<BorrowingRecordResponse> expectedPage = new PageImpl<>(
+                List.of(BorrowingRecordBuilder.buildBorrowingRecordResponse(testBorrowingRecord)));
 
-        when(borrowingRecordRepository.findAll(any(Specification.class), any(Pageable.class)))
+        when(projectionPaginator.page(eq(borrowingRecordRepository),
+                eq(BorrowingRecordBuilder.BORROWING_RECORD_RESPONSE),
+                any(),
+                eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "borrowDate", "id")))))
                 .thenReturn(expectedPage);
 
-        Page<BorrowingRecord> result = borrowingRecordService.getBorrowingRecords(emptyFilter, pageable);
+        Page<BorrowingRecordResponse> result = borrowingRecordService.getBorrowingRecords(emptyFilter, pageable);
 
         assertNotNull(result);
-        assertFalse(result.getContent().isEmpty());
         assertEquals(1, result.getContent().size());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void borrowBook_WhenBookDoesNotExist_ShouldThrowBeforeSaving() {
+        when(borrowingRecordRepository.existsByBookIdAndStatus(bookId, BorrowingStatus.BORROWED))
+                .thenReturn(false);
+        when(borrowingRecordRepository.countActiveBooksByPatron(patronId)).thenReturn(0L);
+        when(borrowingRecordRepository.countOverdueBooksByPatron(patronId)).thenReturn(0L);
+        when(bookService.getBookSnapshot(bookId)).thenThrow(new BookException.BookNotFound());
+
+        assertThrows(BookException.BookNotFound.class, () ->
+                borrowingRecordService.borrowBook(borrowingRequest, bookId, patronId)
+        );
+
+        verify(bookService, never()).getBookReference(any());
+        verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
+    }
+}
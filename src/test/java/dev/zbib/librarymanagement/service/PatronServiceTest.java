@@ -1,26 +1,47 @@
 package dev.zbib.librarymanagement.service;
 
+import dev.zbib.librarymanagement.builder.PatronBuilder;
+import dev.zbib.librarymanagement.bulk.RowFormat;
+import dev.zbib.librarymanagement.bulk.RowImporter;
+import dev.zbib.librarymanagement.cache.CacheInvalidationBus;
+import dev.zbib.librarymanagement.cache.PatronCache;
+import dev.zbib.librarymanagement.cache.RequestCoalescer;
+import dev.zbib.librarymanagement.dto.BatchGetItem;
+import dev.zbib.librarymanagement.dto.ImportError;
+import dev.zbib.librarymanagement.dto.ImportReport;
 import dev.zbib.librarymanagement.dto.PatronCreationRequest;
 import dev.zbib.librarymanagement.dto.PatronResponse;
 import dev.zbib.librarymanagement.dto.PatronUpdateRequest;
 import dev.zbib.librarymanagement.entity.Patron;
 import dev.zbib.librarymanagement.exception.PatronException;
+import dev.zbib.librarymanagement.pagination.ProjectionPaginator;
 import dev.zbib.librarymanagement.repository.PatronRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +54,24 @@ class PatronServiceTest {
     @Mock
     private PatronRepository patronRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(1));
+
+    @Spy
+    private PatronCache patronCache = new PatronCache(new ConcurrentMapCacheManager());
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private ProjectionPaginator projectionPaginator;
+
+    @Spy
+    private RowImporter rowImporter = new RowImporter(Jackson2ObjectMapperBuilder.json().build(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            500,
+            100);
+
     @InjectMocks
     private PatronService patronService;
 
@@ -75,13 +114,13 @@ class PatronServiceTest {
 
     @Test
     void createPatron_ShouldReturnPatronId() {
-        when(patronRepository.save(any(Patron.class))).thenReturn(testPatron);
+        when(patronRepository.saveAndFlush(any(Patron.class))).thenReturn(testPatron);
 
         UUID result = patronService.createPatron(creationRequest);
 
         assertNotNull(result);
         assertEquals(testPatron.getId(), result);
-        verify(patronRepository, times(1)).save(any(Patron.class));
+        verify(patronRepository, times(1)).saveAndFlush(any(Patron.class));
     }
 
     @Test
@@ -122,29 +161,33 @@ class PatronServiceTest {
     @Test
     void getPatrons_ShouldReturnPageOfPatronResponses() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Patron> patronPage = new PageImpl<>(List.of(testPatron));
+        Page<PatronResponse> patronPage = new PageImpl<>(List.of(PatronBuilder.buildPatronResponse(testPatron)));
 
-        when(patronRepository.findAll(pageable)).thenReturn(patronPage);
+        when(projectionPaginator.page(patronRepository,
+                PatronBuilder.PATRON_RESPONSE,
+                null,
+                PageRequest.of(0, 10, Sort.by("lastName", "id"))))
+                .thenReturn(patronPage);
 
         Page<PatronResponse> result = patronService.getPatrons(pageable);
 
         assertNotNull(result);
-        assertFalse(result.getContent().isEmpty());
         assertEquals(1, result.getContent().size());
-        verify(patronRepository, times(1)).findAll(pageable);
+        assertEquals(testPatron.getEmail(), result.getContent().get(0).getEmail());
+        verify(patronRepository, never()).findAll(pageable);
     }
 
     @Test
     void updatePatron_WhenPatronExists_ShouldReturnUpdatedPatronId() {
         when(patronRepository.findById(patronId)).thenReturn(Optional.of(testPatron));
-        when(patronRepository.save(any(Patron.class))).thenReturn(testPatron);
+        when(patronRepository.saveAndFlush(any(Patron.class))).thenReturn(testPatron);
 
         UUID result = patronService.updatePatron(patronId, updateRequest);
 
         assertNotNull(result);
         assertEquals(patronId, result);
         verify(patronRepository, times(1)).findById(patronId);
-        verify(patronRepository, times(1)).save(any(Patron.class));
+        verify(patronRepository, times(1)).saveAndFlush(any(Patron.class));
     }
 
     @Test
@@ -155,7 +198,7 @@ class PatronServiceTest {
             patronService.updatePatron(patronId, updateRequest)
         );
         verify(patronRepository, times(1)).findById(patronId);
-        verify(patronRepository, never()).save(any(Patron.class));
+        verify(patronRepository, never()).saveAndFlush(any(Patron.class));
     }
 
     @Test
@@ -166,7 +209,7 @@ class PatronServiceTest {
                 .firstName("NewFirstName")
                 .build();
 
-        when(patronRepository.save(any(Patron.class))).thenAnswer(invocation -> {
+        when(patronRepository.saveAndFlush(any(Patron.class))).thenAnswer(invocation -> {
             Patron savedPatron = (Patron) invocation.getArgument(0);
             assertEquals("NewFirstName", savedPatron.getFirstName());
             assertEquals(testPatron.getLastName(), savedPatron.getLastName());
@@ -181,7 +224,7 @@ class PatronServiceTest {
 
         assertNotNull(result);
         assertEquals(patronId, result);
-        verify(patronRepository, times(1)).save(any(Patron.class));
+        verify(patronRepository, times(1)).saveAndFlush(any(Patron.class));
     }
 
     @Test
@@ -205,4 +248,120 @@ class PatronServiceTest {
         verify(patronRepository, times(1)).existsById(patronId);
         verify(patronRepository, never()).deleteById(any());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getPatronRequestById_WhenCalledTwice_ShouldLoadOnce() {
+        when(patronRepository.findById(patronId)).thenReturn(Optional.of(testPatron));
+
+        patronService.getPatronRequestById(patronId);
+        PatronResponse response = patronService.getPatronRequestById(patronId);
+
+        assertEquals(patronId, response.getId());
+        verify(patronRepository, times(1)).findById(patronId);
+    }
+
+    @Test
+    void getPatronById_WhenLookedUpAgainAfterMiss_ShouldNotHitRepository() {
+        when(patronRepository.findById(patronId)).thenReturn(Optional.empty());
+
+        assertThrows(PatronException.PatronNotFound.class, () -> patronService.getPatronById(patronId));
+        assertThrows(PatronException.PatronNotFound.class, () -> patronService.getPatronById(patronId));
+        assertThrows(PatronException.PatronNotFound.class, () -> patronService.getPatronRequestById(patronId));
+
+        verify(patronRepository, times(1)).findById(patronId);
+    }
+
+    @Test
+    void createPatron_ShouldWriteThroughToCache() {
+        when(patronRepository.saveAndFlush(any(Patron.class))).thenReturn(testPatron);
+
+        patronService.createPatron(creationRequest);
+        PatronResponse response = patronService.getPatronRequestById(patronId);
+
+        assertEquals(testPatron.getEmail(), response.getEmail());
+        verify(patronRepository, never()).findById(any());
+    }
+
+    @Test
+    void updatePatron_ShouldRefreshCachedPatron() {
+        when(patronRepository.findById(patronId)).thenReturn(Optional.of(testPatron));
+        when(patronRepository.saveAndFlush(any(Patron.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        patronService.getPatronRequestById(patronId);
+        patronService.updatePatron(patronId, PatronUpdateRequest.builder().firstName("Renamed").build());
+
+        assertEquals("Renamed", patronService.getPatronRequestById(patronId).getFirstName());
+    }
+
+    @Test
+    void deletePatron_ShouldEvictAndRememberMissing() {
+        when(patronRepository.findById(patronId)).thenReturn(Optional.of(testPatron));
+        when(patronRepository.existsById(patronId)).thenReturn(true);
+
+        patronService.getPatronRequestById(patronId);
+        patronService.deletePatron(patronId);
+
+        assertThrows(PatronException.PatronNotFound.class, () -> patronService.getPatronRequestById(patronId));
+        verify(patronRepository, times(1)).findById(patronId);
+    }
+
+    @Test
+    void importPatrons_ShouldRejectRepeatedEmailsInTheChunkAndPatronsThatAlreadyExist() throws Exception {
+        when(patronRepository.insertSkippingExistingEmails(any())).thenAnswer(invocation -> {
+            List<Patron> patrons = invocation.getArgument(0);
+            assertEquals(List.of("ada@example.com", "bo@example.com"), patrons.stream().map(Patron::getEmail).toList());
+            return Set.of(patrons.get(0).getId());
+        });
+
+        ImportReport report = patronService.importPatrons(input("""
+                firstName,lastName,email
+                Ada,One,ada@example.com
+                Ada,Again,ada@example.com
+                Bo,Two,bo@example.com
+                """), RowFormat.CSV);
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(new ImportError(2, "email: Same email as row 1"),
+                        new ImportError(3, "email: A patron with email bo@example.com already exists")),
+                report.getErrors());
+    }
+
+    @Test
+    void streamPatronImport_ShouldWriteProgressErrorsAndReportAsNdjson() throws Exception {
+        when(patronRepository.insertSkippingExistingEmails(any())).thenAnswer(invocation -> {
+            List<Patron> patrons = invocation.getArgument(0);
+            return Set.of(patrons.get(0).getId());
+        });
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        patronService.streamPatronImport(input("""
+                {"firstName":"Ada","lastName":"One","email":"ada@example.com"}
+                {"firstName":"X","lastName":"Two","email":"x@example.com"}
+                """), RowFormat.NDJSON, output);
+
+        List<String> events = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, events.size());
+        assertTrue(events.get(0).startsWith("{\"type\":\"ERROR\",\"error\":{\"row\":2,"));
+        assertEquals("{\"type\":\"PROGRESS\",\"rows\":2,\"imported\":1,\"rejected\":1}", events.get(1));
+        assertTrue(events.get(2).startsWith("{\"type\":\"DONE\",\"report\":{\"rows\":2,\"imported\":1,"));
+    }
+
+    @Test
+    void getPatronsByIds_ShouldRememberIdsTheQueryDidNotReturn() {
+        UUID unknown = UUID.randomUUID();
+        when(patronRepository.findAllById(List.of(patronId, unknown))).thenReturn(List.of(testPatron));
+
+        List<BatchGetItem<PatronResponse>> first = patronService.getPatronsByIds(List.of(patronId, unknown));
+        List<BatchGetItem<PatronResponse>> second = patronService.getPatronsByIds(List.of(unknown, patronId));
+
+        assertEquals(List.of(true, false), first.stream().map(BatchGetItem::isFound).toList());
+        assertEquals(List.of(unknown, patronId), second.stream().map(BatchGetItem::getId).toList());
+        assertEquals(List.of(false, true), second.stream().map(BatchGetItem::isFound).toList());
+        assertEquals("John", second.get(1).getValue().getFirstName());
+        verify(patronRepository, times(1)).findAllById(any());
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}